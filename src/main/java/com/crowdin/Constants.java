@@ -34,9 +34,13 @@ public final class Constants {
     public static final String PROPERTY_DEBUG = "debug";
     public static final String PROPERTY_AUTOCOMPLETION_DISABLED = "completion-disabled";
     public static final String PROPERTY_AUTOCOMPLETION_FILE_EXTENSIONS = "completion-file-extensions";
+    public static final String PROPERTY_EXTRACT_THREADS = "extract-threads";
+    public static final String PROPERTY_LANGUAGES_PER_BUILD = "languages-per-build";
+    public static final String PROPERTY_FILE_BUILDS_THRESHOLD = "file-builds-threshold";
 
     public static final Boolean DISABLE_BRANCHES_DEFAULT = false;
     public static final Boolean PRESERVE_HIERARCHY_DEFAULT = false;
+    public static final Integer FILE_BUILDS_THRESHOLD_DEFAULT = 0;
 
     public static final Pattern BASE_URL_PATTERN = Pattern.compile("^(https://([a-zA-Z0-9_-]+\\.)?crowdin\\.com/?|http://(.+)\\.dev\\.crowdin\\.com/?)$");
 
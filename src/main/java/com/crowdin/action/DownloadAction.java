@@ -1,6 +1,8 @@
 package com.crowdin.action;
 
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -44,14 +46,14 @@ public class DownloadAction extends BackgroundAction {
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
 
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
             String branchName = branchLogic.acquireBranchName(true);
             indicator.checkCanceled();
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.PROJECT, CacheComponent.FILES);
 
             if (!crowdinProjectCache.isManagerAccess()) {
                 NotificationUtil.showErrorMessage(project, "You need to have manager access to perform this action");
@@ -60,7 +62,7 @@ public class DownloadAction extends BackgroundAction {
 
             Branch branch = branchLogic.getBranch(crowdinProjectCache, false);
 
-            (new DownloadTranslationsLogic(project, crowdin, properties, root, crowdinProjectCache, branch)).process();
+            (new DownloadTranslationsLogic(project, crowdin, properties, root, crowdinProjectCache, branch)).process(indicator);
         } catch (ProcessCanceledException e) {
             throw e;
         } catch (Exception e) {
@@ -1,6 +1,8 @@
 package com.crowdin.action;
 
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -20,6 +22,8 @@ import com.intellij.openapi.project.Project;
 import com.intellij.openapi.vfs.VirtualFile;
 import lombok.NonNull;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 import java.util.Objects;
 
@@ -54,20 +58,24 @@ public class DownloadSourceFromContextAction extends BackgroundAction {
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
 
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
             BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
             String branchName = branchLogic.acquireBranchName(true);
 
             indicator.checkCanceled();
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.FILES);
 
             Branch branch = branchLogic.getBranch(crowdinProjectCache, false);
 
             Long sourceId = ContextLogic.findSourceIdFromSourceFile(properties, crowdinProjectCache.getFileInfos(branch), file, root);
             URL url = crowdin.downloadFile(sourceId);
-            FileUtil.downloadFile(this, file, url);
+            try (InputStream data = crowdin.openStream(url)) {
+                FileUtil.downloadFile(this, file, data);
+            } catch (IOException e) {
+                throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.download_file"), file.getPath(), e.getMessage()), e);
+            }
             NotificationUtil.showInformationMessage(project, MESSAGES_BUNDLE.getString("messages.success.download_source"));
         } catch (ProcessCanceledException e) {
             throw e;
@@ -1,6 +1,8 @@
 package com.crowdin.action;
 
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -64,14 +66,14 @@ public class DownloadSourcesAction extends BackgroundAction {
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
 
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
             String branchName = branchLogic.acquireBranchName(true);
             indicator.checkCanceled();
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.FILES);
 
             Branch branch = branchLogic.getBranch(crowdinProjectCache, false);
 
@@ -137,7 +139,7 @@ public class DownloadSourcesAction extends BackgroundAction {
 
     private void downloadFile(Crowdin client, Long fileId, VirtualFile root, String filePath) {
         URL url = client.downloadFile(fileId);
-        try (InputStream data = url.openStream()) {
+        try (InputStream data = client.openStream(url)) {
             VirtualFile file = FileUtil.createIfNeededFilePath(this, root, filePath);
             FileUtil.downloadFile(this, file, data);
         } catch (IOException e) {
@@ -147,7 +149,7 @@ public class DownloadSourcesAction extends BackgroundAction {
 
     private void downloadFile(Crowdin client, Long fileId, VirtualFile file) {
         URL url = client.downloadFile(fileId);
-        try (InputStream data = url.openStream()) {
+        try (InputStream data = client.openStream(url)) {
             FileUtil.downloadFile(this, file, data);
         } catch (IOException e) {
             throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.download_file"), file.getPath(), e.getMessage()), e);
@@ -1,6 +1,8 @@
 package com.crowdin.action;
 
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -24,6 +26,8 @@ import com.intellij.openapi.vfs.VirtualFile;
 import lombok.NonNull;
 import org.apache.commons.lang3.tuple.Pair;
 
+import java.io.IOException;
+import java.io.InputStream;
 import java.net.URL;
 
 import static com.crowdin.Constants.MESSAGES_BUNDLE;
@@ -57,14 +61,14 @@ public class DownloadTranslationFromContextAction extends BackgroundAction {
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
 
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
             String branchName = branchLogic.acquireBranchName(true);
             indicator.checkCanceled();
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.PROJECT, CacheComponent.FILES);
 
             if (!crowdinProjectCache.isManagerAccess()) {
                 NotificationUtil.showErrorMessage(project, "You need to have manager access to perform this action");
@@ -79,7 +83,11 @@ public class DownloadTranslationFromContextAction extends BackgroundAction {
             Long sourceId = ContextLogic.findSourceIdFromSourceFile(properties, crowdinProjectCache.getFileInfos(branch), source.getLeft(), root);
 
             URL url = crowdin.downloadFileTranslation(sourceId, RequestBuilder.buildProjectFileTranslation(source.getRight().getId()));
-            FileUtil.downloadFile(this, file, url);
+            try (InputStream data = crowdin.openStream(url)) {
+                FileUtil.downloadFile(this, file, data);
+            } catch (IOException e) {
+                throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.download_file"), file.getPath(), e.getMessage()), e);
+            }
         } catch (ProcessCanceledException e) {
             throw e;
         } catch (Exception e) {
@@ -107,12 +115,15 @@ public class DownloadTranslationFromContextAction extends BackgroundAction {
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
 
             VirtualFile root = FileUtil.getProjectBaseDir(project);
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             String branchName = ActionUtils.getBranchName(project, properties, false);
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, false);
+                CrowdinProjectCacheProvider.getInstance(project).peek(crowdin, branchName);
+            if (crowdinProjectCache.getProjectLanguages() == null) {
+                return;
+            }
 
             isTranslationFile = ContextLogic.findSourceFileFromTranslationFile(file, properties, root, crowdinProjectCache).isPresent();
         } catch (Exception exception) {
@@ -41,7 +41,7 @@ public class UploadAction extends BackgroundAction {
             VirtualFile root = FileUtil.getProjectBaseDir(project);
 
             CrowdinProperties properties = CrowdinPropertiesLoader.load(project);
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
@@ -55,7 +55,7 @@ public class UploadAction extends BackgroundAction {
             String branchName = branchLogic.acquireBranchName(true);
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.FILES);
             indicator.checkCanceled();
 
             Branch branch = branchLogic.getBranch(crowdinProjectCache, true);
@@ -64,7 +64,7 @@ public class UploadAction extends BackgroundAction {
             Map<FileBean, List<VirtualFile>> sources = properties.getFiles().stream()
                 .collect(Collectors.toMap(Function.identity(), fileBean -> FileUtil.getSourceFilesRec(root, fileBean.getSource())));
             SourceLogic.processSources(project, root, crowdin, crowdinProjectCache, branch, properties.isPreserveHierarchy(), sources);
-            CrowdinProjectCacheProvider.outdateBranch(branchName);
+            CrowdinProjectCacheProvider.getInstance(project).invalidateFiles(crowdin.getProjectId(), branchName);
         } catch (ProcessCanceledException e) {
             throw e;
         } catch (Exception e) {
@@ -1,6 +1,7 @@
 package com.crowdin.activity;
 
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -9,6 +10,7 @@ import com.crowdin.util.ActionUtils;
 import com.crowdin.util.GitUtil;
 import com.crowdin.util.NotificationUtil;
 import com.crowdin.util.PropertyUtil;
+import com.intellij.openapi.progress.ProcessCanceledException;
 import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.progress.ProgressManager;
 import com.intellij.openapi.progress.Task;
@@ -28,7 +30,7 @@ public class CrowdinStartupActivity implements StartupActivity {
             }
             //config validation
             properties = CrowdinPropertiesLoader.load(project);
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             String branchName = ActionUtils.getBranchName(project, properties, false);
 
@@ -36,8 +38,12 @@ public class CrowdinStartupActivity implements StartupActivity {
                 @Override
                 public void run(@NotNull ProgressIndicator indicator) {
                     try {
+                        CrowdinProjectCacheProvider cacheProvider = CrowdinProjectCacheProvider.getInstance(project);
+                        cacheProvider.restore(crowdin.getProjectId(), branchName);
                         indicator.setText("Updating Crowdin cache");
-                        CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                        cacheProvider.revalidate(crowdin, branchName, indicator);
+                    } catch (ProcessCanceledException e) {
+                        throw e;
                     } catch (Exception e) {
                         NotificationUtil.showErrorMessage(project, e.getMessage());
                     }
@@ -0,0 +1,33 @@
+package com.crowdin.client;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parts of {@link CrowdinProjectCacheProvider.CrowdinProjectCache} that are loaded and revalidated independently.
+ * Every part is reloaded on access once it is older than its max age or has been invalidated
+ */
+public enum CacheComponent {
+
+    /**
+     * Project data, its target languages and language mapping
+     */
+    PROJECT(TimeUnit.MINUTES.toMillis(10)),
+    STRINGS(TimeUnit.MINUTES.toMillis(10)),
+    SUPPORTED_LANGUAGES(TimeUnit.DAYS.toMillis(1)),
+    BRANCHES(TimeUnit.MINUTES.toMillis(10)),
+
+    /**
+     * Files and directories, tracked for every branch separately
+     */
+    FILES(TimeUnit.MINUTES.toMillis(10));
+
+    private final long maxAgeMillis;
+
+    CacheComponent(long maxAgeMillis) {
+        this.maxAgeMillis = maxAgeMillis;
+    }
+
+    public long getMaxAgeMillis() {
+        return maxAgeMillis;
+    }
+}
@@ -0,0 +1,74 @@
+package com.crowdin.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import static com.crowdin.Constants.MESSAGES_BUNDLE;
+
+/**
+ * Stops sending requests after several server failures in a row.
+ * While open, requests fail immediately. After the open period one trial request is let through:
+ * its success closes the breaker, its failure opens it again. Other requests fail while the trial is running.
+ */
+public class CircuitBreaker {
+
+    private enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int failureThreshold;
+    private final long openNanos;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    private int consecutiveFailures = 0;
+    private long openedAt;
+
+    public CircuitBreaker(int failureThreshold, long openMillis) {
+        this(failureThreshold, openMillis, System::nanoTime);
+    }
+
+    CircuitBreaker(int failureThreshold, long openMillis, LongSupplier clock) {
+        this.failureThreshold = failureThreshold;
+        this.openNanos = TimeUnit.MILLISECONDS.toNanos(openMillis);
+        this.clock = clock;
+    }
+
+    /**
+     * @throws RuntimeException if requests are not allowed at the moment
+     */
+    public synchronized void acquire() {
+        if (state == State.CLOSED) {
+            return;
+        }
+        if (state == State.HALF_OPEN) {
+            throw new RuntimeException(MESSAGES_BUNDLE.getString("errors.server_unavailable_trial"));
+        }
+        long remaining = openedAt + openNanos - clock.getAsLong();
+        if (remaining <= 0) {
+            state = State.HALF_OPEN;
+            return;
+        }
+        long seconds = (remaining + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+        throw new RuntimeException((seconds == 1)
+            ? MESSAGES_BUNDLE.getString("errors.server_unavailable_one_second")
+            : String.format(MESSAGES_BUNDLE.getString("errors.server_unavailable"), seconds));
+    }
+
+    public synchronized void onSuccess() {
+        state = State.CLOSED;
+        consecutiveFailures = 0;
+    }
+
+    public synchronized void onFailure() {
+        consecutiveFailures++;
+        if (state == State.HALF_OPEN || consecutiveFailures >= failureThreshold) {
+            state = State.OPEN;
+            openedAt = clock.getAsLong();
+        }
+    }
+
+    public synchronized boolean isOpen() {
+        return state != State.CLOSED;
+    }
+}
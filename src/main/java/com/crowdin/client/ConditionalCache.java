@@ -0,0 +1,47 @@
+package com.crowdin.client;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Keeps the last response of each endpoint together with the validator it was loaded under.
+ * A response is reused while the current validator is equal to the stored one, otherwise it is loaded again.
+ * Requests made without a validator always go to the server and are not stored.
+ */
+public class ConditionalCache {
+
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(String endpoint, Object validator, Supplier<T> loader) {
+        if (validator != null) {
+            Entry entry = entries.get(endpoint);
+            if (entry != null && Objects.equals(entry.validator, validator)) {
+                return (T) entry.value;
+            }
+        }
+        T value = loader.get();
+        if (validator != null) {
+            entries.put(endpoint, new Entry(validator, value));
+        } else {
+            entries.remove(endpoint);
+        }
+        return value;
+    }
+
+    public void invalidate() {
+        entries.clear();
+    }
+
+    private static class Entry {
+        private final Object validator;
+        private final Object value;
+
+        private Entry(Object validator, Object value) {
+            this.validator = validator;
+            this.value = value;
+        }
+    }
+}
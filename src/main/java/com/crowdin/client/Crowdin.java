@@ -14,87 +14,166 @@ import com.crowdin.client.translations.model.ProjectBuild;
 import com.crowdin.client.translations.model.UploadTranslationsRequest;
 import com.crowdin.client.translationstatus.model.FileProgress;
 import com.crowdin.client.translationstatus.model.LanguageProgress;
+import com.crowdin.util.NotificationUtil;
+import com.crowdin.util.PaginationUtil;
+import com.crowdin.util.RetryPolicy;
 import com.crowdin.util.RetryUtil;
 import com.crowdin.util.Util;
 import com.intellij.openapi.project.Project;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.commons.lang.exception.ExceptionUtils;
 import org.jetbrains.annotations.NotNull;
 
 import java.io.IOException;
 import java.io.InputStream;
 import java.net.URL;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.function.Supplier;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 import static com.crowdin.Constants.MESSAGES_BUNDLE;
 
 public class Crowdin {
 
+    private static final int PAGE_LIMIT = 500;
+
+    private static final int PAGE_PREFETCH = 4;
+
+    private static final ExecutorService PAGE_EXECUTOR =
+        AppExecutorUtil.createBoundedApplicationPoolExecutor("Crowdin Pages", PAGE_PREFETCH);
+
+    /**
+     * How long project's last activity date stays valid as a validator for cached listings
+     */
+    private static final long VALIDATOR_MAX_AGE_MILLIS = 30_000;
+
+    private static final int MAX_THROTTLED_ATTEMPTS = 5;
+
+    /**
+     * Shared by all clients of the IDE instance, as Crowdin limits requests per account
+     */
+    private static final RateLimiter RATE_LIMITER = new RateLimiter(20, 1, 20);
+
+    private static final RetryPolicy READ_RETRY_POLICY = new RetryPolicy(4, 250, 8_000, Crowdin::isServerFailure);
+
+    private static final RetryPolicy IDEMPOTENT_WRITE_RETRY_POLICY = new RetryPolicy(2, 500, 4_000, Crowdin::isServerFailure);
+
+    /**
+     * Only idempotent requests are retried. Requests creating new entities (files, directories, branches, labels, builds)
+     * and uploading streams are never repeated
+     */
+    private static final Map<String, RetryPolicy> RETRY_POLICIES = new HashMap<>();
+
+    static {
+        for (String endpoint : Arrays.asList(
+            "getProject", "listSupportedLanguages", "listBranches", "listDirectories", "listFiles", "listSourceStrings",
+            "listLabels", "getProjectProgress", "getLanguageProgress", "checkBuildStatus", "downloadFile", "downloadProjectTranslations"
+        )) {
+            RETRY_POLICIES.put(endpoint, READ_RETRY_POLICY);
+        }
+        for (String endpoint : Arrays.asList("updateOrRestoreFile", "editFile")) {
+            RETRY_POLICIES.put(endpoint, IDEMPOTENT_WRITE_RETRY_POLICY);
+        }
+    }
+
     private final Long projectId;
 
     private final Project project;
 
     private final com.crowdin.client.Client client;
 
+    private final ConditionalCache conditionalCache = new ConditionalCache();
+
+    private final SingleFlight singleFlight = new SingleFlight();
+
+    private final CrowdinMetrics metrics;
+
+    private final CircuitBreaker circuitBreaker = new CircuitBreaker(5, 30_000);
+
+    private volatile Date lastActivity;
+
+    private volatile long lastActivityCheckedAt;
+
     public Crowdin(@NotNull Project project, @NotNull Long projectId, @NotNull String apiToken, String baseUrl) {
+        this(project, projectId, apiToken, baseUrl, new CrowdinMetrics());
+    }
+
+    public Crowdin(@NotNull Project project, @NotNull Long projectId, @NotNull String apiToken, String baseUrl, @NotNull CrowdinMetrics metrics) {
+        this(project, projectId, new Client(new Credentials(apiToken, null, baseUrl), ClientConfig.builder()
+            .userAgent(Util.getUserAgent())
+            .build()), metrics);
+    }
+
+    Crowdin(@NotNull Project project, @NotNull Long projectId, @NotNull Client client, @NotNull CrowdinMetrics metrics) {
         this.project = project;
+        this.metrics = metrics;
         this.projectId = projectId;
-        Credentials credentials = new Credentials(apiToken, null, baseUrl);
-        ClientConfig clientConfig = ClientConfig.builder()
-            .userAgent(Util.getUserAgent())
-            .build();
-        this.client = new Client(credentials, clientConfig);
+        this.client = client;
+    }
+
+    public Long getProjectId() {
+        return projectId;
     }
 
     public Long addStorage(String fileName, InputStream content) {
-        return executeRequest(() -> this.client.getStorageApi()
-            .addStorage(fileName, content)
+        return executeRequest("addStorage", () -> this.client.getStorageApi()
+            .addStorage(fileName, metrics.countSent("addStorage", content))
             .getData()
             .getId());
     }
 
     public void updateSource(Long sourceId, UpdateFileRequest request) {
-        executeRequest(() -> this.client.getSourceFilesApi()
+        executeWrite("updateOrRestoreFile", () -> this.client.getSourceFilesApi()
             .updateOrRestoreFile(this.projectId, sourceId, request));
     }
 
     public URL downloadFile(Long fileId) {
-        return url(executeRequest(() -> this.client.getSourceFilesApi()
+        return url(executeRequest("downloadFile", () -> this.client.getSourceFilesApi()
             .downloadFile(this.projectId, fileId)
             .getData()));
     }
 
     public void addSource(AddFileRequest request) {
-        executeRequest(() -> this.client.getSourceFilesApi()
+        executeWrite("addFile", () -> this.client.getSourceFilesApi()
             .addFile(this.projectId, request));
     }
 
     public void editSource(Long fileId, List<PatchRequest> request) {
-        executeRequest(() -> this.client.getSourceFilesApi()
+        executeWrite("editFile", () -> this.client.getSourceFilesApi()
             .editFile(this.projectId, fileId, request));
     }
 
     public void uploadTranslation(String languageId, UploadTranslationsRequest request) {
-        executeRequest(() -> this.client.getTranslationsApi()
+        executeRequest("uploadTranslations", () -> this.client.getTranslationsApi()
             .uploadTranslations(this.projectId, languageId, request));
     }
 
     public Directory addDirectory(AddDirectoryRequest request) {
-        return executeRequest(() -> this.client.getSourceFilesApi()
+        return executeWrite("addDirectory", () -> this.client.getSourceFilesApi()
             .addDirectory(this.projectId, request)
             .getData());
     }
 
     public com.crowdin.client.projectsgroups.model.Project getProject() {
-        return executeRequest(() -> this.client.getProjectsGroupsApi()
-            .getProject(this.projectId)
-            .getData());
+        return singleFlight.execute("getProject", () -> {
+            com.crowdin.client.projectsgroups.model.Project crowdinProject = executeRequest("getProject", () -> this.client.getProjectsGroupsApi()
+                .getProject(this.projectId)
+                .getData());
+            this.lastActivity = crowdinProject.getLastActivity();
+            this.lastActivityCheckedAt = System.currentTimeMillis();
+            return crowdinProject;
+        });
     }
 
     public List<Language> extractProjectLanguages(com.crowdin.client.projectsgroups.model.Project crowdinProject) {
@@ -102,99 +181,107 @@ public class Crowdin {
     }
 
     public ProjectBuild startBuildingTranslation(BuildProjectTranslationRequest request) {
-        return executeRequest(() -> this.client.getTranslationsApi()
+        return executeRequest("buildProjectTranslation", () -> this.client.getTranslationsApi()
             .buildProjectTranslation(this.projectId, request)
             .getData());
     }
 
     public ProjectBuild checkBuildingStatus(Long buildId) {
-        return executeRequest(() -> this.client.getTranslationsApi()
+        return executeRequest("checkBuildStatus", () -> this.client.getTranslationsApi()
             .checkBuildStatus(projectId, buildId)
             .getData());
     }
 
     public URL downloadProjectTranslations(Long buildId) {
-        return url(executeRequest(() -> this.client.getTranslationsApi()
+        return url(executeRequest("downloadProjectTranslations", () -> this.client.getTranslationsApi()
             .downloadProjectTranslations(this.projectId, buildId)
             .getData()));
     }
 
     public URL downloadFileTranslation(Long fileId, BuildProjectFileTranslationRequest request) {
-        return url(executeRequest(() -> client.getTranslationsApi()
+        return url(executeRequest("buildProjectFileTranslation", () -> client.getTranslationsApi()
             .buildProjectFileTranslation(this.projectId, fileId, null, request)
             .getData()));
     }
 
+    /**
+     * Opens download link returned by the API, measuring the transfer under the 'download' endpoint until the stream is read or closed
+     */
+    public InputStream openStream(URL url) throws IOException {
+        long start = System.currentTimeMillis();
+        try {
+            return metrics.measureReceived("download", start, url.openStream());
+        } catch (IOException e) {
+            metrics.recordCall("download", System.currentTimeMillis() - start, "io");
+            throw e;
+        }
+    }
+
+    public CrowdinMetrics getMetrics() {
+        return metrics;
+    }
+
     public List<Language> getSupportedLanguages() {
-        return executeRequest(() -> client.getLanguagesApi().listSupportedLanguages(500, 0)
+        return singleFlight.execute("listSupportedLanguages", () -> executeRequest("listSupportedLanguages", () -> client.getLanguagesApi().listSupportedLanguages(500, 0)
             .getData()
             .stream()
             .map(ResponseObject::getData)
-            .collect(Collectors.toList()));
+            .collect(Collectors.toList())));
     }
 
     public Map<Long, Directory> getDirectories(Long branchId) {
-        return executeRequestFullList((limit, offset) ->
-                this.client.getSourceFilesApi()
-                    .listDirectories(this.projectId, branchId, null, true, limit, offset)
-                    .getData()
-            )
-            .stream()
-            .map(ResponseObject::getData)
-            .filter(dir -> Objects.equals(dir.getBranchId(), branchId))
-            .collect(Collectors.toMap(Directory::getId, Function.identity()));
+        return singleFlight.execute("listDirectories:" + branchId, () -> conditionalCache.get("listDirectories:" + branchId, validator(), () -> {
+            try (Stream<ResponseObject<Directory>> dirs = executeRequestStream("listDirectories", (limit, offset) -> this.client.getSourceFilesApi()
+                .listDirectories(this.projectId, branchId, null, true, limit, offset)
+                .getData())) {
+                return dirs
+                    .map(ResponseObject::getData)
+                    .filter(dir -> Objects.equals(dir.getBranchId(), branchId))
+                    .collect(Collectors.toMap(Directory::getId, Function.identity()));
+            }
+        }));
     }
 
     public List<com.crowdin.client.sourcefiles.model.FileInfo> getFiles(Long branchId) {
-        return executeRequestFullList((limit, offset) ->
-                this.client.getSourceFilesApi()
-                    .listFiles(this.projectId, branchId, null, null, true, 500, 0)
-                    .getData()
-            )
-            .stream()
-            .map(ResponseObject::getData)
-            .filter(file -> Objects.equals(file.getBranchId(), branchId))
-            .collect(Collectors.toList());
+        return singleFlight.execute("listFiles:" + branchId, () -> conditionalCache.get("listFiles:" + branchId, validator(), () -> {
+            try (Stream<? extends ResponseObject<? extends com.crowdin.client.sourcefiles.model.FileInfo>> files = executeRequestStream("listFiles", (limit, offset) -> this.client.getSourceFilesApi()
+                .listFiles(this.projectId, branchId, null, null, true, limit, offset)
+                .getData())) {
+                return files
+                    .<com.crowdin.client.sourcefiles.model.FileInfo>map(ResponseObject::getData)
+                    .filter(file -> Objects.equals(file.getBranchId(), branchId))
+                    .collect(Collectors.toList());
+            }
+        }));
     }
 
     public List<SourceString> getStrings() {
-        return executeRequestFullList((limit, offset) ->
-                this.client.getSourceStringsApi().listSourceStrings(
-                        this.projectId,
-                        null,
-                        null,
-                        null,
-                        null,
-                        null,
-                        null,
-                        limit,
-                        offset).getData()
-                )
-                .stream()
-                .map(ResponseObject::getData)
-                .collect(Collectors.toList());
+        return singleFlight.execute("listSourceStrings", () -> conditionalCache.get("listSourceStrings", validator(), () -> {
+            try (Stream<ResponseObject<SourceString>> strings = executeRequestStream("listSourceStrings", (limit, offset) -> this.client.getSourceStringsApi()
+                .listSourceStrings(this.projectId, null, null, null, null, null, null, limit, offset)
+                .getData())) {
+                return strings
+                    .map(ResponseObject::getData)
+                    .collect(Collectors.toList());
+            }
+        }));
     }
 
     /**
+     * @param endpoint name of the API method, used for rate limit reports
      * @param request represents function that downloads list of models and has two args (limit, offset)
      * @param <T> represents model
-     * @return list of models accumulated from request function
+     * @return lazy stream of models, pages are requested while the stream is consumed. Should be closed, so that look-ahead pages stop
      */
-    private <T> List<T> executeRequestFullList(BiFunction<Integer, Integer, List<T>> request) {
-        List<T> models = new ArrayList<>();
-        long counter;
-        int limit = 500;
-        do {
-            List<T> responseModels = executeRequest(() -> request.apply(limit, models.size()));
-            models.addAll(responseModels);
-            counter = responseModels.size();
-        } while (counter == limit);
-        return models;
+    private <T> Stream<T> executeRequestStream(String endpoint, BiFunction<Integer, Integer, List<T>> request) {
+        return PaginationUtil.stream(
+            (limit, offset) -> executeRequest(endpoint, () -> request.apply(limit, offset)),
+            PAGE_LIMIT, PAGE_PREFETCH, PAGE_EXECUTOR);
     }
 
     public Branch addBranch(AddBranchRequest request) {
         try {
-            return executeRequest(() -> this.client.getSourceFilesApi()
+            return executeWrite("addBranch", () -> this.client.getSourceFilesApi()
                 .addBranch(this.projectId, request)
                 .getData());
         } catch (Exception e) {
@@ -207,7 +294,7 @@ public class Crowdin {
     }
 
     public Optional<Branch> getBranch(String name) {
-        List<ResponseObject<Branch>> branches = executeRequest(() -> this.client.getSourceFilesApi().listBranches(this.projectId, name, 500, null).getData());
+        List<ResponseObject<Branch>> branches = executeRequest("listBranches", () -> this.client.getSourceFilesApi().listBranches(this.projectId, name, 500, null).getData());
         return branches.stream()
                 .filter(e -> e.getData().getName().equalsIgnoreCase(name))
                 .map(ResponseObject::getData)
@@ -215,49 +302,173 @@ public class Crowdin {
     }
 
     public Map<String, Branch> getBranches() {
-        return executeRequestFullList((limit, offset) ->
-            this.client.getSourceFilesApi()
+        return singleFlight.execute("listBranches", () -> conditionalCache.get("listBranches", validator(), () -> {
+            try (Stream<ResponseObject<Branch>> branches = executeRequestStream("listBranches", (limit, offset) -> this.client.getSourceFilesApi()
                 .listBranches(this.projectId, null, limit, offset)
-                .getData()
-        )
-            .stream()
-            .map(ResponseObject::getData)
-            .collect(Collectors.toMap(Branch::getName, Function.identity()));
+                .getData())) {
+                return branches
+                    .map(ResponseObject::getData)
+                    .collect(Collectors.toMap(Branch::getName, Function.identity()));
+            }
+        }));
     }
 
     public List<LanguageProgress> getProjectProgress() {
-        return executeRequestFullList((limit, offset) -> this.client.getTranslationStatusApi()
+        try (Stream<ResponseObject<LanguageProgress>> progress = executeRequestStream("getProjectProgress", (limit, offset) -> this.client.getTranslationStatusApi()
             .getProjectProgress(this.projectId, limit, offset, null)
-            .getData()
-            .stream()
-            .map(ResponseObject::getData)
-            .collect(Collectors.toList()));
+            .getData())) {
+            return progress
+                .map(ResponseObject::getData)
+                .collect(Collectors.toList());
+        }
     }
 
     public List<FileProgress> getLanguageProgress(String languageId) {
-        return executeRequestFullList((limit, offset) -> this.client.getTranslationStatusApi()
+        try (Stream<ResponseObject<FileProgress>> progress = executeRequestStream("getLanguageProgress", (limit, offset) -> this.client.getTranslationStatusApi()
             .getLanguageProgress(this.projectId, languageId, limit, offset)
-            .getData()
-            .stream()
-            .map(ResponseObject::getData)
-            .collect(Collectors.toList()));
+            .getData())) {
+            return progress
+                .map(ResponseObject::getData)
+                .collect(Collectors.toList());
+        }
     }
 
     public List<Label> listLabels() {
-        return executeRequestFullList((limit, offset) -> this.client.getLabelsApi()
+        try (Stream<ResponseObject<Label>> labels = executeRequestStream("listLabels", (limit, offset) -> this.client.getLabelsApi()
             .listLabels(this.projectId, limit, offset)
-            .getData()
-            .stream()
-            .map(ResponseObject::getData)
-            .collect(Collectors.toList()));
+            .getData())) {
+            return labels
+                .map(ResponseObject::getData)
+                .collect(Collectors.toList());
+        }
     }
 
     public Label addLabel(AddLabelRequest request) {
-        return executeRequest(() ->this.client.getLabelsApi()
+        return executeRequest("addLabel", () -> this.client.getLabelsApi()
             .addLabel(this.projectId, request)
             .getData());
     }
 
+    /**
+     * Project's last activity date serves as a validator for listings: while it stays the same,
+     * listings loaded under it are reused instead of being downloaded again.
+     * It is taken from the latest {@link #getProject()} call and expires after {@link #VALIDATOR_MAX_AGE_MILLIS}.
+     */
+    private Object validator() {
+        if (lastActivity == null || System.currentTimeMillis() - lastActivityCheckedAt > VALIDATOR_MAX_AGE_MILLIS) {
+            return null;
+        }
+        return lastActivity;
+    }
+
+    /**
+     * Executes request that changes project data. Cached listings and the validator are dropped once the request completes, successfully or not,
+     * so that a listing loaded while it was running is not reused under the last activity date from before the change
+     */
+    private <T> T executeWrite(String endpoint, Supplier<T> exec) {
+        try {
+            return executeRequest(endpoint, exec);
+        } finally {
+            lastActivity = null;
+            conditionalCache.invalidate();
+        }
+    }
+
+    /**
+     * Executes single attempt of the request through the circuit breaker
+     */
+    private <T> T executeGuarded(String endpoint, Supplier<T> exec) {
+        circuitBreaker.acquire();
+        try {
+            T result = executeThrottled(endpoint, exec);
+            circuitBreaker.onSuccess();
+            return result;
+        } catch (RuntimeException e) {
+            if (isServerFailure(e)) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            throw e;
+        }
+    }
+
+    /**
+     * Executes request within the shared rate limit.
+     * Idempotent requests (those with a {@link #RETRY_POLICIES retry policy}) rejected with 429/503 are repeated after the limiter backs off.
+     * Other requests are never repeated: a 503 doesn't prove the server did nothing, and uploaded streams can't be sent twice
+     */
+    private <T> T executeThrottled(String endpoint, Supplier<T> exec) {
+        long waited = 0;
+        try {
+            for (int attempt = 1; ; attempt++) {
+                waited += RATE_LIMITER.acquire();
+                try {
+                    T result = executeMeasured(endpoint, exec);
+                    RATE_LIMITER.onSuccess();
+                    return result;
+                } catch (HttpException e) {
+                    if (!isThrottled(e)) {
+                        throw e;
+                    }
+                    RATE_LIMITER.onThrottle();
+                    if (!RETRY_POLICIES.containsKey(endpoint) || attempt >= MAX_THROTTLED_ATTEMPTS) {
+                        throw e;
+                    }
+                    metrics.recordRetry(endpoint);
+                }
+            }
+        } finally {
+            if (waited > 0) {
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.rate_limit_wait"), endpoint, waited));
+            }
+        }
+    }
+
+    /**
+     * Executes single HTTP call, recording its latency and error code
+     */
+    private <T> T executeMeasured(String endpoint, Supplier<T> exec) {
+        long start = System.currentTimeMillis();
+        try {
+            T result = exec.get();
+            metrics.recordCall(endpoint, System.currentTimeMillis() - start, null);
+            return result;
+        } catch (RuntimeException e) {
+            metrics.recordCall(endpoint, System.currentTimeMillis() - start, errorCode(e));
+            throw e;
+        }
+    }
+
+    private static String errorCode(RuntimeException e) {
+        if (e instanceof HttpException) {
+            HttpException ex = (HttpException) e;
+            return (ex.getError() != null && ex.getError().getCode() != null) ? ex.getError().getCode() : "<empty_code>";
+        } else if (e instanceof HttpBadRequestException) {
+            return "400";
+        } else if (ExceptionUtils.indexOfType(e, IOException.class) != -1) {
+            return "io";
+        }
+        return e.getClass().getSimpleName();
+    }
+
+    /**
+     * @return true for errors on the server side or on the way to it, i.e. errors that may pass on their own
+     */
+    private static boolean isServerFailure(RuntimeException e) {
+        if (e instanceof HttpException) {
+            HttpException ex = (HttpException) e;
+            String code = (ex.getError() != null) ? ex.getError().getCode() : null;
+            return code != null && code.matches("5\\d\\d") && !"503".equals(code);
+        }
+        return ExceptionUtils.indexOfType(e, IOException.class) != -1;
+    }
+
+    private boolean isThrottled(HttpException e) {
+        String code = (e.getError() != null) ? e.getError().getCode() : null;
+        return "429".equals(code) || "503".equals(code);
+    }
+
     private boolean concurrentIssue(Exception error) {
         return this.codeExists(error, "notUnique") || this.codeExists(error, "parallelCreation");
     }
@@ -275,20 +486,6 @@ public class Crowdin {
         }
     }
 
-    private Long waitAndFindBranch(String name) throws Exception {
-        return RetryUtil.retry(() -> {
-            ResponseList<Branch> branchResponseList = this.client.getSourceFilesApi().listBranches(this.projectId, name, 500, null);
-            ResponseObject<Branch> branchResponseObject = branchResponseList.getData().stream()
-                    .filter(branch -> branch.getData().getName().equalsIgnoreCase(name))
-                    .findFirst().orElse(null);
-            if (branchResponseObject != null) {
-                return branchResponseObject.getData().getId();
-            } else {
-                throw new Exception(String.format(MESSAGES_BUNDLE.getString("errors.find_branch"), name));
-            }
-        });
-    }
-
     private boolean customMessage(Exception e) {
         if (e instanceof HttpException) {
             HttpException ex = (HttpException) e;
@@ -307,9 +504,15 @@ public class Crowdin {
         }
     }
 
-    private <T> T executeRequest(Supplier<T> exec) {
+    private <T> T executeRequest(String endpoint, Supplier<T> exec) {
         try {
-            return exec.get();
+            AtomicInteger attempts = new AtomicInteger();
+            return RetryUtil.retry(() -> {
+                if (attempts.getAndIncrement() > 0) {
+                    metrics.recordRetry(endpoint);
+                }
+                return executeGuarded(endpoint, exec);
+            }, RETRY_POLICIES.getOrDefault(endpoint, RetryPolicy.NO_RETRY));
         } catch (HttpException e) {
             HttpException ex = (HttpException) e;
             String code = (ex.getError() != null && ex.getError().getCode() != null) ? ex.getError().getCode() : "<empty_code>";
@@ -0,0 +1,221 @@
+package com.crowdin.client;
+
+import com.crowdin.client.core.model.PatchRequest;
+import com.crowdin.client.labels.model.AddLabelRequest;
+import com.crowdin.client.labels.model.Label;
+import com.crowdin.client.languages.model.Language;
+import com.crowdin.client.sourcefiles.model.AddFileRequest;
+import com.crowdin.client.sourcefiles.model.Branch;
+import com.crowdin.client.sourcefiles.model.Directory;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+import com.crowdin.client.sourcefiles.model.UpdateFileRequest;
+import com.crowdin.client.sourcestrings.model.SourceString;
+import com.crowdin.client.translations.model.BuildProjectTranslationRequest;
+import com.crowdin.client.translations.model.ProjectBuild;
+import com.crowdin.client.translationstatus.model.FileProgress;
+import com.crowdin.client.translationstatus.model.LanguageProgress;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Non-blocking facade over {@link Crowdin}. Every call runs on a dedicated bounded I/O executor and returns a {@link CompletableFuture},
+ * so callers can start independent requests together and compose dependent ones into pipelines.
+ * Cancelling a returned future interrupts the request if it is still waiting for the rate limit or a retry.
+ */
+public class CrowdinAsync {
+
+    private static final int IO_THREADS = 8;
+
+    private static final long CHECK_CANCELED_MILLIS = 100;
+
+    /**
+     * Separate from the executor that prefetches pages, so that requests running here can wait for their pages without starving it
+     */
+    private static final ExecutorService IO_EXECUTOR =
+        AppExecutorUtil.createBoundedApplicationPoolExecutor("Crowdin I/O", IO_THREADS);
+
+    private final Crowdin crowdin;
+
+    public CrowdinAsync(@NotNull Crowdin crowdin) {
+        this.crowdin = crowdin;
+    }
+
+    public Crowdin getCrowdin() {
+        return crowdin;
+    }
+
+    /**
+     * Runs any call of the blocking client on the I/O executor
+     */
+    public <T> CompletableFuture<T> call(@NotNull Function<Crowdin, T> call) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        Future<?> task = IO_EXECUTOR.submit(() -> {
+            if (result.isDone()) {
+                return;
+            }
+            try {
+                result.complete(call.apply(crowdin));
+            } catch (Throwable e) {
+                result.completeExceptionally(e);
+            }
+        });
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                task.cancel(true);
+            }
+        });
+        return result;
+    }
+
+    public CompletableFuture<Long> addStorage(String fileName, InputStream content) {
+        return call(client -> client.addStorage(fileName, content));
+    }
+
+    public CompletableFuture<Void> updateSource(Long sourceId, UpdateFileRequest request) {
+        return call(client -> {
+            client.updateSource(sourceId, request);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> addSource(AddFileRequest request) {
+        return call(client -> {
+            client.addSource(request);
+            return null;
+        });
+    }
+
+    public CompletableFuture<Void> editSource(Long fileId, List<PatchRequest> request) {
+        return call(client -> {
+            client.editSource(fileId, request);
+            return null;
+        });
+    }
+
+    public CompletableFuture<com.crowdin.client.projectsgroups.model.Project> getProject() {
+        return call(Crowdin::getProject);
+    }
+
+    public CompletableFuture<ProjectBuild> startBuildingTranslation(BuildProjectTranslationRequest request) {
+        return call(client -> client.startBuildingTranslation(request));
+    }
+
+    public CompletableFuture<ProjectBuild> checkBuildingStatus(Long buildId) {
+        return call(client -> client.checkBuildingStatus(buildId));
+    }
+
+    public CompletableFuture<URL> downloadProjectTranslations(Long buildId) {
+        return call(client -> client.downloadProjectTranslations(buildId));
+    }
+
+    public CompletableFuture<List<Language>> getSupportedLanguages() {
+        return call(Crowdin::getSupportedLanguages);
+    }
+
+    public CompletableFuture<Map<Long, Directory>> getDirectories(Long branchId) {
+        return call(client -> client.getDirectories(branchId));
+    }
+
+    public CompletableFuture<List<FileInfo>> getFiles(Long branchId) {
+        return call(client -> client.getFiles(branchId));
+    }
+
+    public CompletableFuture<List<SourceString>> getStrings() {
+        return call(Crowdin::getStrings);
+    }
+
+    public CompletableFuture<Map<String, Branch>> getBranches() {
+        return call(Crowdin::getBranches);
+    }
+
+    public CompletableFuture<List<LanguageProgress>> getProjectProgress() {
+        return call(Crowdin::getProjectProgress);
+    }
+
+    public CompletableFuture<List<FileProgress>> getLanguageProgress(String languageId) {
+        return call(client -> client.getLanguageProgress(languageId));
+    }
+
+    public CompletableFuture<List<Label>> listLabels() {
+        return call(Crowdin::listLabels);
+    }
+
+    public CompletableFuture<Label> addLabel(AddLabelRequest request) {
+        return call(client -> client.addLabel(request));
+    }
+
+    /**
+     * Combines futures into one that completes with their results in the same order.
+     * When any of them fails, the rest are cancelled and the combined future fails with the same error
+     */
+    public static <T> CompletableFuture<List<T>> allOf(@NotNull List<CompletableFuture<T>> futures) {
+        CompletableFuture<List<T>> result = CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]))
+            .thenApply(ignored -> futures.stream()
+                .map(CompletableFuture::join)
+                .collect(Collectors.toList()));
+        futures.forEach(future -> future.whenComplete((value, error) -> {
+            if (error != null) {
+                result.completeExceptionally(error);
+                futures.forEach(f -> f.cancel(true));
+            }
+        }));
+        result.whenComplete((value, error) -> {
+            if (result.isCancelled()) {
+                futures.forEach(f -> f.cancel(true));
+            }
+        });
+        return result;
+    }
+
+    /**
+     * Waits for the future from a background task, checking the indicator meanwhile.
+     * If the user cancels the task, the future is cancelled as well and {@link ProcessCanceledException} is thrown
+     */
+    public static <T> T await(@NotNull CompletableFuture<T> future, @Nullable ProgressIndicator indicator) {
+        try {
+            while (true) {
+                if (indicator != null) {
+                    indicator.checkCanceled();
+                }
+                try {
+                    return future.get(CHECK_CANCELED_MILLIS, TimeUnit.MILLISECONDS);
+                } catch (TimeoutException ignored) {
+                }
+            }
+        } catch (ProcessCanceledException e) {
+            future.cancel(true);
+            throw e;
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ProcessCanceledException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = (e.getCause() instanceof CompletionException && e.getCause().getCause() != null)
+                ? e.getCause().getCause()
+                : e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            } else if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException(cause);
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.crowdin.client;
+
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.Project;
+import lombok.Data;
+import org.jetbrains.annotations.NotNull;
+
+/**
+ * Holds one long-lived {@link Crowdin} client per project, so that its HTTP connection pool
+ * and keep-alive connections are reused between actions.
+ * The client is rebuilt only when project id, token or base url in the configuration file change.
+ */
+public class CrowdinClientService {
+
+    private final Project project;
+
+    private final CrowdinMetrics metrics = new CrowdinMetrics();
+
+    private ClientKey clientKey;
+    private Crowdin crowdin;
+
+    public CrowdinClientService(@NotNull Project project) {
+        this.project = project;
+    }
+
+    public static CrowdinClientService getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, CrowdinClientService.class);
+    }
+
+    public static Crowdin getClient(@NotNull Project project, @NotNull CrowdinProperties properties) {
+        return getInstance(project).getOrCreateClient(properties);
+    }
+
+    public synchronized Crowdin getOrCreateClient(@NotNull CrowdinProperties properties) {
+        ClientKey key = new ClientKey(properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+        if (crowdin == null || !key.equals(clientKey)) {
+            crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl(), metrics);
+            clientKey = key;
+        }
+        return crowdin;
+    }
+
+    public CrowdinMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Data
+    private static class ClientKey {
+        private final Long projectId;
+        private final String apiToken;
+        private final String baseUrl;
+    }
+}
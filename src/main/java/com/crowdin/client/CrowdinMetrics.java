@@ -0,0 +1,256 @@
+package com.crowdin.client;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import lombok.Data;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+import java.util.stream.Collectors;
+
+/**
+ * Per-endpoint statistics of requests made by {@link Crowdin}: number of HTTP calls, latency histogram,
+ * bytes sent and received, retries and error codes.
+ * Lives as long as the project, so numbers are kept when the client is rebuilt.
+ */
+public class CrowdinMetrics {
+
+    /**
+     * Upper bounds (inclusive) of latency histogram buckets in milliseconds, the last bucket has no bound
+     */
+    static final long[] LATENCY_BUCKETS_MILLIS = {50, 100, 250, 500, 1_000, 2_500, 5_000, 10_000};
+
+    private static final ObjectMapper JSON = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final ConcurrentMap<String, EndpointStats> endpoints = new ConcurrentHashMap<>();
+
+    public void recordCall(String endpoint, long millis, String errorCode) {
+        EndpointStats stats = stats(endpoint);
+        synchronized (stats) {
+            stats.calls++;
+            stats.totalMillis += millis;
+            stats.maxMillis = Math.max(stats.maxMillis, millis);
+            stats.histogram[bucket(millis)]++;
+            if (errorCode != null) {
+                stats.errors.merge(errorCode, 1L, Long::sum);
+            }
+        }
+    }
+
+    public void recordRetry(String endpoint) {
+        EndpointStats stats = stats(endpoint);
+        synchronized (stats) {
+            stats.retries++;
+        }
+    }
+
+    public void recordBytesSent(String endpoint, long bytes) {
+        EndpointStats stats = stats(endpoint);
+        synchronized (stats) {
+            stats.bytesSent += bytes;
+        }
+    }
+
+    public void recordBytesReceived(String endpoint, long bytes) {
+        EndpointStats stats = stats(endpoint);
+        synchronized (stats) {
+            stats.bytesReceived += bytes;
+        }
+    }
+
+    /**
+     * Wraps request body so that bytes read from it by the HTTP client are counted as sent
+     */
+    public InputStream countSent(String endpoint, InputStream content) {
+        return new CountingInputStream(content, bytes -> recordBytesSent(endpoint, bytes));
+    }
+
+    /**
+     * Wraps response body so that bytes read from it are counted as received and the call is recorded
+     * once the body is read to the end or closed, so that its latency covers the whole transfer.
+     * A failed read is recorded with the 'io' error code
+     * @param startMillis time the request was started at
+     */
+    public InputStream measureReceived(String endpoint, long startMillis, InputStream content) {
+        return new MeasuredInputStream(content, bytes -> recordBytesReceived(endpoint, bytes),
+            errorCode -> recordCall(endpoint, System.currentTimeMillis() - startMillis, errorCode));
+    }
+
+    public void reset() {
+        endpoints.clear();
+    }
+
+    /**
+     * @return statistics of all endpoints sorted by total time spent, the slowest first
+     */
+    public List<EndpointSnapshot> snapshot() {
+        List<EndpointSnapshot> result = new ArrayList<>();
+        endpoints.forEach((endpoint, stats) -> {
+            synchronized (stats) {
+                Map<String, Long> histogram = new LinkedHashMap<>();
+                for (int i = 0; i < stats.histogram.length; i++) {
+                    histogram.put(bucketName(i), stats.histogram[i]);
+                }
+                result.add(new EndpointSnapshot(
+                    endpoint, stats.calls, stats.totalMillis, stats.maxMillis, (stats.calls > 0) ? stats.totalMillis / stats.calls : 0,
+                    histogram, stats.bytesSent, stats.bytesReceived, stats.retries, new TreeMap<>(stats.errors)));
+            }
+        });
+        return result.stream()
+            .sorted(Comparator.comparingLong(EndpointSnapshot::getTotalMillis).reversed())
+            .collect(Collectors.toList());
+    }
+
+    public String toJson() {
+        try {
+            return JSON.writeValueAsString(snapshot());
+        } catch (JsonProcessingException e) {
+            throw new RuntimeException("Couldn't serialize metrics", e);
+        }
+    }
+
+    static int bucket(long millis) {
+        for (int i = 0; i < LATENCY_BUCKETS_MILLIS.length; i++) {
+            if (millis <= LATENCY_BUCKETS_MILLIS[i]) {
+                return i;
+            }
+        }
+        return LATENCY_BUCKETS_MILLIS.length;
+    }
+
+    static String bucketName(int bucket) {
+        return (bucket < LATENCY_BUCKETS_MILLIS.length)
+            ? "<=" + LATENCY_BUCKETS_MILLIS[bucket] + "ms"
+            : ">" + LATENCY_BUCKETS_MILLIS[LATENCY_BUCKETS_MILLIS.length - 1] + "ms";
+    }
+
+    private EndpointStats stats(String endpoint) {
+        return endpoints.computeIfAbsent(endpoint, key -> new EndpointStats());
+    }
+
+    private static class EndpointStats {
+        private long calls;
+        private long totalMillis;
+        private long maxMillis;
+        private final long[] histogram = new long[LATENCY_BUCKETS_MILLIS.length + 1];
+        private long bytesSent;
+        private long bytesReceived;
+        private long retries;
+        private final Map<String, Long> errors = new TreeMap<>();
+    }
+
+    @Data
+    public static class EndpointSnapshot {
+        private final String endpoint;
+        private final long calls;
+        private final long totalMillis;
+        private final long maxMillis;
+        private final long averageMillis;
+        private final Map<String, Long> latencyHistogram;
+        private final long bytesSent;
+        private final long bytesReceived;
+        private final long retries;
+        private final Map<String, Long> errors;
+    }
+
+    private static class MeasuredInputStream extends CountingInputStream {
+
+        private final Consumer<String> onFinish;
+        private boolean finished = false;
+
+        private MeasuredInputStream(InputStream in, LongConsumer counter, Consumer<String> onFinish) {
+            super(in, counter);
+            this.onFinish = onFinish;
+        }
+
+        @Override
+        public int read() throws IOException {
+            try {
+                int result = super.read();
+                if (result == -1) {
+                    finish(null);
+                }
+                return result;
+            } catch (IOException e) {
+                finish("io");
+                throw e;
+            }
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            try {
+                int result = super.read(b, off, len);
+                if (result == -1) {
+                    finish(null);
+                }
+                return result;
+            } catch (IOException e) {
+                finish("io");
+                throw e;
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            finish(null);
+            super.close();
+        }
+
+        private void finish(String errorCode) {
+            if (!finished) {
+                finished = true;
+                onFinish.accept(errorCode);
+            }
+        }
+    }
+
+    private static class CountingInputStream extends FilterInputStream {
+
+        private final LongConsumer counter;
+
+        private CountingInputStream(InputStream in, LongConsumer counter) {
+            super(in);
+            this.counter = counter;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int result = super.read();
+            if (result != -1) {
+                counter.accept(1);
+            }
+            return result;
+        }
+
+        @Override
+        public int read(byte[] b, int off, int len) throws IOException {
+            int result = super.read(b, off, len);
+            if (result > 0) {
+                counter.accept(result);
+            }
+            return result;
+        }
+
+        @Override
+        public long skip(long n) throws IOException {
+            long result = super.skip(n);
+            if (result > 0) {
+                counter.accept(result);
+            }
+            return result;
+        }
+    }
+}
@@ -10,31 +10,98 @@ import com.crowdin.client.sourcefiles.model.FileInfo;
 import com.crowdin.client.sourcestrings.model.SourceString;
 import com.crowdin.util.CrowdinFileUtil;
 import com.crowdin.util.LanguageMapping;
-import lombok.Data;
+import com.intellij.openapi.Disposable;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
 
+import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
-public class CrowdinProjectCacheProvider {
+/**
+ * Project-level cache of Crowdin project data, kept separately for every Crowdin project id.
+ * Project data, strings, languages, branches and files of every branch are loaded independently and without a common lock,
+ * so readers never wait for refreshes of unrelated data, and concurrent loads of the same data are made once and shared.
+ * Every load publishes a new immutable {@link CrowdinProjectCache} snapshot, readers always get a consistent view without locking.
+ * Every part is reloaded once it is older than its max age or has been invalidated, see {@link CacheComponent},
+ * and callers declare the parts they need to be up to date instead of reloading everything.
+ * Code that must not wait for Crowdin, such as action updates and completion, {@link #peek peeks} at the current snapshot instead.
+ * Changed snapshots are stored on disk when the project is closed and restored at startup, see {@link CrowdinProjectCacheStore}.
+ */
+public class CrowdinProjectCacheProvider implements Disposable {
 
-    private static CrowdinProjectCache crowdinProjectCache;
+    /**
+     * Delay before a failed background refresh is started again by {@link #peek}
+     */
+    private static final long REFRESH_RETRY_MILLIS = TimeUnit.MINUTES.toMillis(1);
 
-    private static boolean outdated = false;
-    private static List<String> outdatedBranches = new ArrayList<>();
+    /**
+     * Components loaded through conditional listings of {@link Crowdin}, validated by project's last activity
+     */
+    private static final Set<CacheComponent> LISTINGS = EnumSet.of(CacheComponent.STRINGS, CacheComponent.BRANCHES, CacheComponent.FILES);
 
-    @Data
-    public static class CrowdinProjectCache {
-        private boolean managerAccess;
-        private Project project;
-        private List<Language> SupportedLanguages;
-        private List<Language> ProjectLanguages;
-        private Map<String, Branch> branches;
-        private Map<Branch, Map<String, Directory>> dirs;
-        private Map<Branch, Map<String, ? extends FileInfo>> fileInfos;
-        private LanguageMapping languageMapping;
-        private List<SourceString> strings;
+    private final ConcurrentMap<Long, ProjectCacheHolder> holders = new ConcurrentHashMap<>();
+
+    private final SingleFlight loads = new SingleFlight();
+
+    /**
+     * Immutable snapshot of the cached data of one Crowdin project
+     */
+    public static final class CrowdinProjectCache {
+
+        private static final CrowdinProjectCache EMPTY =
+            new CrowdinProjectCache(null, null, null, null, null, null, Collections.emptyMap(), Collections.emptyMap());
+
+        private final Project project;
+        private final LanguageMapping languageMapping;
+        private final List<Language> projectLanguages;
+        private final List<Language> supportedLanguages;
+        private final List<SourceString> strings;
+        private final Map<String, Branch> branches;
+        private final Map<Long, Map<String, ? extends FileInfo>> fileInfos;
+        private final Map<Long, Map<String, Directory>> dirs;
+
+        private CrowdinProjectCache(
+            Project project, LanguageMapping languageMapping, List<Language> projectLanguages, List<Language> supportedLanguages,
+            List<SourceString> strings, Map<String, Branch> branches,
+            Map<Long, Map<String, ? extends FileInfo>> fileInfos, Map<Long, Map<String, Directory>> dirs
+        ) {
+            this.project = project;
+            this.languageMapping = languageMapping;
+            this.projectLanguages = projectLanguages;
+            this.supportedLanguages = supportedLanguages;
+            this.strings = strings;
+            this.branches = branches;
+            this.fileInfos = fileInfos;
+            this.dirs = dirs;
+        }
+
+        public boolean isManagerAccess() {
+            return project instanceof ProjectSettings;
+        }
+
+        public Project getProject() {
+            return project;
+        }
 
         /**
          * Returns project information with additional information. Should be checked for managerAccess before accessing this value
@@ -45,15 +112,25 @@ public class CrowdinProjectCacheProvider {
             return (ProjectSettings) this.getProject();
         }
 
+        public List<Language> getProjectLanguages() {
+            return projectLanguages;
+        }
+
+        public List<Language> getSupportedLanguages() {
+            return supportedLanguages;
+        }
+
+        public List<SourceString> getStrings() {
+            return strings;
+        }
+
+        public Map<String, Branch> getBranches() {
+            return branches;
+        }
+
         @SuppressWarnings("unchecked")
         public Map<String, FileInfo> getFileInfos(Branch branch) {
-            if (fileInfos.containsKey(branch)) {
-                return (Map<String, FileInfo>) fileInfos.get(branch);
-            } else {
-                Map<String, FileInfo> newMap = new HashMap<>();
-                fileInfos.put(branch, newMap);
-                return newMap;
-            }
+            return (Map<String, FileInfo>) fileInfos.getOrDefault(branchKey(branch), Collections.emptyMap());
         }
 
         /**
@@ -63,13 +140,14 @@ public class CrowdinProjectCacheProvider {
         @SuppressWarnings("unchecked")
         public Map<String, File> getFiles(Branch branch) {
             this.checkForManagerAccess();
-            if (fileInfos.containsKey(branch)) {
-                return (Map<String, File>) fileInfos.get(branch);
-            } else {
-                Map<String, File> newMap = new HashMap<>();
-                fileInfos.put(branch, newMap);
-                return newMap;
-            }
+            return (Map<String, File>) fileInfos.getOrDefault(branchKey(branch), Collections.emptyMap());
+        }
+
+        /**
+         * @return directories of the branch by their paths, read-only
+         */
+        public Map<String, Directory> getDirs(Branch branch) {
+            return dirs.getOrDefault(branchKey(branch), Collections.emptyMap());
         }
 
         /**
@@ -81,69 +159,498 @@ public class CrowdinProjectCacheProvider {
             return languageMapping;
         }
 
+        @SuppressWarnings("unchecked")
+        Map<Long, Map<String, FileInfo>> getAllFileInfos() {
+            return (Map<Long, Map<String, FileInfo>>) (Map<Long, ?>) fileInfos;
+        }
+
+        @SuppressWarnings("unchecked")
+        Map<Long, Map<String, File>> getAllFiles() {
+            this.checkForManagerAccess();
+            return (Map<Long, Map<String, File>>) (Map<Long, ?>) fileInfos;
+        }
+
+        Map<Long, Map<String, Directory>> getAllDirs() {
+            return dirs;
+        }
+
+        /**
+         * Rebuilds a snapshot from its stored data, see {@link CrowdinProjectCacheStore}
+         */
+        static CrowdinProjectCache restore(
+            Project project, List<Language> projectLanguages, List<Language> supportedLanguages, List<SourceString> strings,
+            Map<String, Branch> branches, Map<Long, ? extends Map<String, ? extends FileInfo>> fileInfos, Map<Long, Map<String, Directory>> dirs
+        ) {
+            CrowdinProjectCache cache = EMPTY
+                .withProject(project, projectLanguages)
+                .withSupportedLanguages(supportedLanguages)
+                .withStrings(strings);
+            if (branches != null) {
+                cache = cache.withBranches(branches);
+            }
+            if (fileInfos != null) {
+                for (Map.Entry<Long, ? extends Map<String, ? extends FileInfo>> branchFileInfos : fileInfos.entrySet()) {
+                    Map<String, Directory> branchDirs = (dirs != null) ? dirs.get(branchFileInfos.getKey()) : null;
+                    cache = cache.withBranchFiles(branchFileInfos.getKey(), branchFileInfos.getValue(),
+                        (branchDirs != null) ? branchDirs : Collections.emptyMap());
+                }
+            }
+            return cache;
+        }
+
+        private boolean hasFiles(Branch branch) {
+            return fileInfos.containsKey(branchKey(branch));
+        }
+
+        private CrowdinProjectCache withProject(Project project, List<Language> projectLanguages) {
+            LanguageMapping languageMapping = (project instanceof ProjectSettings)
+                ? LanguageMapping.fromServerLanguageMapping(((ProjectSettings) project).getLanguageMapping())
+                : null;
+            return new CrowdinProjectCache(project, languageMapping, unmodifiable(projectLanguages), supportedLanguages, strings, branches, fileInfos, dirs);
+        }
+
+        private CrowdinProjectCache withSupportedLanguages(List<Language> supportedLanguages) {
+            return new CrowdinProjectCache(project, languageMapping, projectLanguages, unmodifiable(supportedLanguages), strings, branches, fileInfos, dirs);
+        }
+
+        private CrowdinProjectCache withStrings(List<SourceString> strings) {
+            return new CrowdinProjectCache(project, languageMapping, projectLanguages, supportedLanguages, unmodifiable(strings), branches, fileInfos, dirs);
+        }
+
+        private CrowdinProjectCache withBranches(Map<String, Branch> branches) {
+            return new CrowdinProjectCache(project, languageMapping, projectLanguages, supportedLanguages, strings,
+                Collections.unmodifiableMap(new HashMap<>(branches)), fileInfos, dirs);
+        }
+
+        private CrowdinProjectCache withBranchFiles(Branch branch, Map<String, ? extends FileInfo> branchFileInfos, Map<String, Directory> branchDirs) {
+            return withBranchFiles(branchKey(branch), branchFileInfos, branchDirs);
+        }
+
+        private CrowdinProjectCache withBranchFiles(Long branchKey, Map<String, ? extends FileInfo> branchFileInfos, Map<String, Directory> branchDirs) {
+            Map<Long, Map<String, ? extends FileInfo>> newFileInfos = new HashMap<>(fileInfos);
+            newFileInfos.put(branchKey, Collections.unmodifiableMap(new HashMap<>(branchFileInfos)));
+            Map<Long, Map<String, Directory>> newDirs = new HashMap<>(dirs);
+            newDirs.put(branchKey, Collections.unmodifiableMap(new HashMap<>(branchDirs)));
+            return new CrowdinProjectCache(project, languageMapping, projectLanguages, supportedLanguages, strings, branches,
+                Collections.unmodifiableMap(newFileInfos), Collections.unmodifiableMap(newDirs));
+        }
+
         private void checkForManagerAccess() {
             if (!isManagerAccess()) {
                 throw new RuntimeException("Unexpected error: Manager access is required");
             }
         }
 
+        /**
+         * @return id of the branch, or 0 for files outside of branches
+         */
+        private static Long branchKey(Branch branch) {
+            return (branch != null) ? branch.getId() : 0L;
+        }
+
+        private static <T> List<T> unmodifiable(List<T> list) {
+            return (list != null) ? Collections.unmodifiableList(list) : null;
+        }
     }
 
-    private CrowdinProjectCacheProvider() {
+    private static class ProjectCacheHolder {
+        private final AtomicReference<CrowdinProjectCache> snapshot = new AtomicReference<>(CrowdinProjectCache.EMPTY);
+        private final Map<CacheComponent, Freshness> components = new EnumMap<>(CacheComponent.class);
+        private final ConcurrentMap<Long, Freshness> branchFiles = new ConcurrentHashMap<>();
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+        private volatile long refreshFailedAt;
+        private volatile CrowdinProjectCache saved;
 
+        private ProjectCacheHolder() {
+            for (CacheComponent component : CacheComponent.values()) {
+                components.put(component, new Freshness());
+            }
+        }
+
+        private Freshness freshness(CacheComponent component) {
+            return components.get(component);
+        }
+
+        /**
+         * Files are tracked by branch id, the same way as in snapshots, so that a branch recreated under the same name starts unloaded
+         */
+        private Freshness filesOf(Branch branch) {
+            return branchFiles.computeIfAbsent(CrowdinProjectCache.branchKey(branch), key -> new Freshness());
+        }
     }
 
-    public synchronized static CrowdinProjectCache getInstance(Crowdin crowdin, String branchName, boolean update) {
-        if (crowdinProjectCache == null) {
-            crowdinProjectCache = new CrowdinProjectCache();
+    /**
+     * Tracks loads of a part of the cache. Every invalidation starts a new generation: loads of earlier generations
+     * neither count as fresh nor are shared with loads started after the invalidation, and their results never replace
+     * data of a later generation
+     */
+    private static class Freshness {
+        private final AtomicLong generation = new AtomicLong(1);
+        private long loadedGeneration;
+        private long loadStartedAt;
+        private volatile boolean fresh;
+        private volatile long freshSince;
+
+        private boolean isFresh(long maxAgeMillis) {
+            return fresh && System.currentTimeMillis() - freshSince < maxAgeMillis;
+        }
+
+        private long generation() {
+            return generation.get();
+        }
+
+        /**
+         * @return the new generation
+         */
+        private synchronized long invalidate() {
+            fresh = false;
+            return generation.incrementAndGet();
         }
-        if (crowdinProjectCache.getProject() == null || update) {
-            crowdinProjectCache.setProject(crowdin.getProject());
-            crowdinProjectCache.setManagerAccess(crowdinProjectCache.getProject() instanceof ProjectSettings);
-            if (crowdinProjectCache.isManagerAccess()) {
-                crowdinProjectCache.setLanguageMapping(
-                    LanguageMapping.fromServerLanguageMapping(crowdinProjectCache.getProjectSettings().getLanguageMapping()));
+
+        /**
+         * Publishes result of a load unless a result of a later generation, or a later load of the same one, is published already
+         */
+        private synchronized void publish(long loadGeneration, long startedAt, Runnable publish) {
+            if (loadGeneration < loadedGeneration || (loadGeneration == loadedGeneration && startedAt < loadStartedAt)) {
+                return;
             }
+            publish.run();
+            loadedGeneration = loadGeneration;
+            loadStartedAt = startedAt;
+            fresh = loadGeneration == generation.get();
+            freshSince = startedAt;
         }
-        if (crowdinProjectCache.getStrings() == null) {
-            crowdinProjectCache.setStrings(crowdin.getStrings());
+    }
+
+    public static CrowdinProjectCacheProvider getInstance(@NotNull com.intellij.openapi.project.Project project) {
+        return ServiceManager.getService(project, CrowdinProjectCacheProvider.class);
+    }
+
+    /**
+     * Returns cache of the client's Crowdin project, loading the data that is missing, older than its max age or invalidated.
+     * Independent data is loaded concurrently in the background: project, strings, supported languages,
+     * and branches followed by directories and files of the branch.
+     * When strings, branches or files are to be revalidated, the project is reloaded first,
+     * so that cached listings are checked against its current last activity date.
+     * Loads may be shared with other callers, so cancelling the indicator only stops waiting for them
+     * @param indicator indicator of the calling task, checked while waiting for the loads
+     * @param revalidate components the caller needs to be up to date, they are reloaded even if cached, without joining loads started earlier;
+     *                   {@link CacheComponent#FILES} stands for files of the given branch only
+     * @throws ProcessCanceledException if the indicator is cancelled
+     */
+    public CrowdinProjectCache getCache(Crowdin crowdin, String branchName, @Nullable ProgressIndicator indicator, CacheComponent... revalidate) {
+        Set<CacheComponent> required = EnumSet.noneOf(CacheComponent.class);
+        Collections.addAll(required, revalidate);
+        boolean revalidatesListings = !Collections.disjoint(required, LISTINGS);
+        if (revalidatesListings) {
+            // listings are revalidated against project's last activity, which has to be taken after the request
+            required.add(CacheComponent.PROJECT);
         }
-        if (crowdinProjectCache.getSupportedLanguages() == null) {
-            crowdinProjectCache.setSupportedLanguages(crowdin.getSupportedLanguages());
+        ProjectCacheHolder holder = holder(crowdin.getProjectId());
+        CrowdinAsync crowdinAsync = new CrowdinAsync(crowdin);
+        List<CompletableFuture<CrowdinProjectCache>> pending = new ArrayList<>();
+        if (isOutdated(holder, CacheComponent.SUPPORTED_LANGUAGES, required)) {
+            long generation = generationToLoad(holder.freshness(CacheComponent.SUPPORTED_LANGUAGES), CacheComponent.SUPPORTED_LANGUAGES, required);
+            pending.add(crowdinAsync.call(client -> loadSupportedLanguages(client, holder, generation)));
         }
-        if (crowdinProjectCache.getProjectLanguages() == null || update) {
-            crowdinProjectCache.setProjectLanguages(crowdin.extractProjectLanguages(crowdinProjectCache.getProject()));
+        if (isOutdated(holder, CacheComponent.PROJECT, required)) {
+            long generation = generationToLoad(holder.freshness(CacheComponent.PROJECT), CacheComponent.PROJECT, required);
+            CompletableFuture<CrowdinProjectCache> projectLoad = crowdinAsync.call(client -> loadProject(client, holder, generation));
+            if (revalidatesListings) {
+                await(projectLoad, indicator);
+            }
+            pending.add(projectLoad);
         }
-        if (crowdinProjectCache.getBranches() == null || outdated || update) {
-            crowdinProjectCache.setBranches(crowdin.getBranches());
-            outdated = false;
+        if (isOutdated(holder, CacheComponent.STRINGS, required)) {
+            long generation = generationToLoad(holder.freshness(CacheComponent.STRINGS), CacheComponent.STRINGS, required);
+            pending.add(crowdinAsync.call(client -> loadStrings(client, holder, generation)));
         }
-        if (crowdinProjectCache.getFileInfos() == null) {
-            crowdinProjectCache.setFileInfos(new HashMap<>());
+        if (isOutdated(holder, CacheComponent.BRANCHES, required) || required.contains(CacheComponent.FILES)
+            || !areFilesFresh(holder, holder.snapshot.get(), branchName)) {
+            pending.add(CompletableFuture.supplyAsync(
+                () -> loadBranchListings(crowdinAsync, holder, branchName, required), AppExecutorUtil.getAppExecutorService()));
         }
-        if (crowdinProjectCache.getDirs() == null) {
-            crowdinProjectCache.setDirs(new HashMap<>());
+        if (!pending.isEmpty()) {
+            await(CompletableFuture.allOf(pending.toArray(new CompletableFuture[0])), indicator);
         }
-        if ((branchName != null && !branchName.isEmpty()) && !crowdinProjectCache.getBranches().containsKey(branchName)) {
-            return crowdinProjectCache;
+        return holder.snapshot.get();
+    }
+
+    /**
+     * Returns current snapshot of the client's Crowdin project without loading anything, so that it can be called on the EDT.
+     * Data that is missing or outdated is loaded in the background and becomes available to later calls
+     * @return current snapshot, its parts are {@code null} until they are loaded for the first time
+     */
+    public CrowdinProjectCache peek(Crowdin crowdin, String branchName) {
+        ProjectCacheHolder holder = holder(crowdin.getProjectId());
+        CrowdinProjectCache cache = holder.snapshot.get();
+        if (isStale(holder, cache, branchName)
+            && System.currentTimeMillis() - holder.refreshFailedAt >= REFRESH_RETRY_MILLIS
+            && holder.refreshing.compareAndSet(false, true)) {
+            AppExecutorUtil.getAppExecutorService().execute(() -> {
+                try {
+                    getCache(crowdin, branchName, null);
+                } catch (RuntimeException e) {
+                    // readers keep the current snapshot, the error is reported by the next action that loads the cache
+                    holder.refreshFailedAt = System.currentTimeMillis();
+                } finally {
+                    holder.refreshing.set(false);
+                }
+            });
         }
-        Branch branch = crowdinProjectCache.getBranches().get(branchName);
-        if (!crowdinProjectCache.getFileInfos().containsKey(branch)
-                || !crowdinProjectCache.getDirs().containsKey(branch)
-                || outdatedBranches.contains(branchName)
-                || update) {
-            Long branchId = (branch != null) ? branch.getId() : null;
-            List<com.crowdin.client.sourcefiles.model.FileInfo> files = crowdin.getFiles(branchId);
-            Map<Long, Directory> dirs = crowdin.getDirectories(branchId);
-            crowdinProjectCache.getFileInfos().put(branch, CrowdinFileUtil.buildFilePaths(files, dirs));
-            crowdinProjectCache.getDirs().put(branch, CrowdinFileUtil.buildDirPaths(dirs));
-            outdatedBranches.remove(branchName);
+        return cache;
+    }
+
+    /**
+     * Publishes the snapshot stored on disk for the Crowdin project, unless its data is already loaded.
+     * Restored data counts as just loaded, except files of branches other than the given one,
+     * and is expected to be {@link #revalidate revalidated}
+     * @return {@code true} if the stored snapshot was published
+     */
+    public boolean restore(Long projectId, String branchName) {
+        CrowdinProjectCache stored = CrowdinProjectCacheStore.getInstance().load(projectId);
+        if (stored == null) {
+            return false;
+        }
+        ProjectCacheHolder holder = holder(projectId);
+        if (!holder.snapshot.compareAndSet(CrowdinProjectCache.EMPTY, stored)) {
+            return false;
+        }
+        holder.saved = stored;
+        long restoredAt = System.currentTimeMillis();
+        if (stored.getProject() != null) {
+            markRestored(holder.freshness(CacheComponent.PROJECT), restoredAt);
+        }
+        if (stored.getStrings() != null) {
+            markRestored(holder.freshness(CacheComponent.STRINGS), restoredAt);
+        }
+        if (stored.getSupportedLanguages() != null) {
+            markRestored(holder.freshness(CacheComponent.SUPPORTED_LANGUAGES), restoredAt);
+        }
+        if (stored.getBranches() != null) {
+            markRestored(holder.freshness(CacheComponent.BRANCHES), restoredAt);
+            Branch branch = stored.getBranches().get(branchName);
+            if (stored.hasFiles(branch) && (branch != null || branchName == null || branchName.isEmpty())) {
+                markRestored(holder.filesOf(branch), restoredAt);
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Reloads all cached data of the Crowdin project together with files of the branch, and stores the result on disk.
+     * Readers keep getting the previous snapshot until each part is reloaded
+     */
+    public CrowdinProjectCache revalidate(Crowdin crowdin, String branchName, @Nullable ProgressIndicator indicator) {
+        getCache(crowdin, branchName, indicator, CacheComponent.values());
+        persist(crowdin.getProjectId());
+        return holder(crowdin.getProjectId()).snapshot.get();
+    }
+
+    /**
+     * Stores current snapshot of the Crowdin project on disk unless it is the one that was saved or restored last,
+     * see {@link CrowdinProjectCacheStore}
+     */
+    public void persist(Long projectId) {
+        ProjectCacheHolder holder = holders.get(projectId);
+        if (holder == null) {
+            return;
+        }
+        synchronized (holder) {
+            CrowdinProjectCache cache = holder.snapshot.get();
+            if (cache == holder.saved) {
+                return;
+            }
+            try {
+                CrowdinProjectCacheStore.getInstance().save(projectId, cache);
+                holder.saved = cache;
+            } catch (IOException e) {
+                // the cache is loaded from Crowdin next time
+            }
+        }
+    }
+
+    /**
+     * Marks components as outdated, they are reloaded on the next access. {@link CacheComponent#FILES} stands for files of all branches
+     */
+    public void invalidate(Long projectId, CacheComponent... components) {
+        ProjectCacheHolder holder = holders.get(projectId);
+        if (holder == null) {
+            return;
+        }
+        for (CacheComponent component : components) {
+            if (component == CacheComponent.FILES) {
+                holder.branchFiles.values().forEach(Freshness::invalidate);
+            } else {
+                holder.freshness(component).invalidate();
+            }
+        }
+    }
+
+    /**
+     * Marks files and directories of the branch as outdated, e.g. after sources were uploaded to it
+     */
+    public void invalidateFiles(Long projectId, String branchName) {
+        ProjectCacheHolder holder = holders.get(projectId);
+        if (holder == null) {
+            return;
+        }
+        Map<String, Branch> branches = holder.snapshot.get().getBranches();
+        Branch branch = (branches != null) ? branches.get(branchName) : null;
+        if (branch != null || branchName == null || branchName.isEmpty()) {
+            holder.filesOf(branch).invalidate();
         }
-        return crowdinProjectCache;
     }
 
-    public synchronized static void outdateBranch(String branchName) {
-        outdated = true;
-        outdatedBranches.add(branchName);
+    /**
+     * Snapshots changed since they were last saved are stored in the background, so that closing the project doesn't wait for serialization
+     */
+    @Override
+    public void dispose() {
+        List<Long> changed = holders.entrySet().stream()
+            .filter(entry -> entry.getValue().snapshot.get() != entry.getValue().saved)
+            .map(Map.Entry::getKey)
+            .collect(Collectors.toList());
+        if (!changed.isEmpty()) {
+            AppExecutorUtil.getAppExecutorService().execute(() -> changed.forEach(this::persist));
+        }
+    }
+
+    private ProjectCacheHolder holder(Long projectId) {
+        return holders.computeIfAbsent(projectId, id -> new ProjectCacheHolder());
+    }
+
+    private static boolean isOutdated(ProjectCacheHolder holder, CacheComponent component, Set<CacheComponent> required) {
+        return required.contains(component) || !holder.freshness(component).isFresh(component.getMaxAgeMillis());
+    }
+
+    private static boolean isStale(ProjectCacheHolder holder, CrowdinProjectCache cache, String branchName) {
+        for (CacheComponent component : CacheComponent.values()) {
+            if (component != CacheComponent.FILES && !holder.freshness(component).isFresh(component.getMaxAgeMillis())) {
+                return true;
+            }
+        }
+        return !areFilesFresh(holder, cache, branchName);
+    }
+
+    /**
+     * @return {@code false} if files of the branch are to be loaded, files of a branch missing in the snapshot can't be loaded and count as fresh
+     */
+    private static boolean areFilesFresh(ProjectCacheHolder holder, CrowdinProjectCache cache, String branchName) {
+        if (cache.getBranches() == null) {
+            return false;
+        }
+        Branch branch = cache.getBranches().get(branchName);
+        if (branch == null && branchName != null && !branchName.isEmpty()) {
+            return true;
+        }
+        return holder.filesOf(branch).isFresh(CacheComponent.FILES.getMaxAgeMillis());
+    }
+
+    /**
+     * Waits for loads that may be shared with other callers: cancelling the wait leaves them running, so that their results still reach the cache
+     */
+    private static void await(CompletableFuture<?> load, @Nullable ProgressIndicator indicator) {
+        CrowdinAsync.await(load.thenApply(Function.identity()), indicator);
+    }
+
+    /**
+     * Loads branches if needed, and then directories and files of the branch
+     */
+    private CrowdinProjectCache loadBranchListings(CrowdinAsync crowdinAsync, ProjectCacheHolder holder, String branchName, Set<CacheComponent> required) {
+        Crowdin crowdin = crowdinAsync.getCrowdin();
+        boolean branchesReloaded = isOutdated(holder, CacheComponent.BRANCHES, required);
+        if (branchesReloaded) {
+            loadBranches(crowdin, holder, generationToLoad(holder.freshness(CacheComponent.BRANCHES), CacheComponent.BRANCHES, required));
+        }
+        boolean isBranch = branchName != null && !branchName.isEmpty();
+        if (isBranch && !branchesReloaded && required.contains(CacheComponent.FILES) && !holder.snapshot.get().getBranches().containsKey(branchName)) {
+            // files of the branch are needed up to date, and the branch may have been created since branches were loaded
+            loadBranches(crowdin, holder, holder.freshness(CacheComponent.BRANCHES).invalidate());
+        }
+        Map<String, Branch> branches = holder.snapshot.get().getBranches();
+        if (!isBranch || branches.containsKey(branchName)) {
+            Branch branch = branches.get(branchName);
+            Freshness files = holder.filesOf(branch);
+            if (required.contains(CacheComponent.FILES) || !files.isFresh(CacheComponent.FILES.getMaxAgeMillis())) {
+                loadBranchFiles(crowdinAsync, holder, branch, generationToLoad(files, CacheComponent.FILES, required));
+            }
+        }
+        return holder.snapshot.get();
+    }
+
+    /**
+     * Required components start a new generation, so that their load is not joined with one started before the request
+     */
+    private static long generationToLoad(Freshness freshness, CacheComponent component, Set<CacheComponent> required) {
+        return required.contains(component) ? freshness.invalidate() : freshness.generation();
+    }
+
+    private static void markRestored(Freshness freshness, long restoredAt) {
+        freshness.publish(freshness.generation(), restoredAt, () -> { });
+    }
+
+    private CrowdinProjectCache loadProject(Crowdin crowdin, ProjectCacheHolder holder, long generation) {
+        return loads.execute(crowdin.getProjectId() + ":project:" + generation, () -> {
+            long startedAt = System.currentTimeMillis();
+            Project crowdinProject = crowdin.getProject();
+            List<Language> projectLanguages = crowdin.extractProjectLanguages(crowdinProject);
+            holder.freshness(CacheComponent.PROJECT).publish(generation, startedAt,
+                () -> holder.snapshot.updateAndGet(cache -> cache.withProject(crowdinProject, projectLanguages)));
+            return holder.snapshot.get();
+        });
+    }
+
+    private CrowdinProjectCache loadStrings(Crowdin crowdin, ProjectCacheHolder holder, long generation) {
+        return loads.execute(crowdin.getProjectId() + ":strings:" + generation, () -> {
+            long startedAt = System.currentTimeMillis();
+            List<SourceString> strings = crowdin.getStrings();
+            holder.freshness(CacheComponent.STRINGS).publish(generation, startedAt,
+                () -> holder.snapshot.updateAndGet(cache -> cache.withStrings(strings)));
+            return holder.snapshot.get();
+        });
+    }
+
+    private CrowdinProjectCache loadSupportedLanguages(Crowdin crowdin, ProjectCacheHolder holder, long generation) {
+        return loads.execute(crowdin.getProjectId() + ":supportedLanguages:" + generation, () -> {
+            long startedAt = System.currentTimeMillis();
+            List<Language> supportedLanguages = crowdin.getSupportedLanguages();
+            holder.freshness(CacheComponent.SUPPORTED_LANGUAGES).publish(generation, startedAt,
+                () -> holder.snapshot.updateAndGet(cache -> cache.withSupportedLanguages(supportedLanguages)));
+            return holder.snapshot.get();
+        });
+    }
+
+    private CrowdinProjectCache loadBranches(Crowdin crowdin, ProjectCacheHolder holder, long generation) {
+        return loads.execute(crowdin.getProjectId() + ":branches:" + generation, () -> {
+            long startedAt = System.currentTimeMillis();
+            Map<String, Branch> branches = crowdin.getBranches();
+            holder.freshness(CacheComponent.BRANCHES).publish(generation, startedAt,
+                () -> holder.snapshot.updateAndGet(cache -> cache.withBranches(branches)));
+            return holder.snapshot.get();
+        });
+    }
+
+    /**
+     * Directories and files of the branch are requested concurrently, file paths are built once both are loaded
+     */
+    private CrowdinProjectCache loadBranchFiles(CrowdinAsync crowdinAsync, ProjectCacheHolder holder, Branch branch, long generation) {
+        Long branchKey = CrowdinProjectCache.branchKey(branch);
+        return loads.execute(crowdinAsync.getCrowdin().getProjectId() + ":branch:" + branchKey + ":" + generation, () -> {
+            long startedAt = System.currentTimeMillis();
+            Long branchId = (branch != null) ? branch.getId() : null;
+            CompletableFuture<Map<Long, Directory>> dirsRequest = crowdinAsync.getDirectories(branchId);
+            CompletableFuture<List<FileInfo>> filesRequest = crowdinAsync.getFiles(branchId);
+            try {
+                Map<Long, Directory> dirs = CrowdinAsync.await(dirsRequest, null);
+                Map<String, ? extends FileInfo> fileInfos = CrowdinFileUtil.buildFilePaths(CrowdinAsync.await(filesRequest, null), dirs);
+                Map<String, Directory> dirPaths = CrowdinFileUtil.buildDirPaths(dirs);
+                holder.filesOf(branch).publish(generation, startedAt,
+                    () -> holder.snapshot.updateAndGet(cache -> cache.withBranchFiles(branch, fileInfos, dirPaths)));
+                return holder.snapshot.get();
+            } finally {
+                filesRequest.cancel(true);
+            }
+        });
     }
 }
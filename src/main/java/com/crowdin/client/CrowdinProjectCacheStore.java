@@ -0,0 +1,178 @@
+package com.crowdin.client;
+
+import com.crowdin.client.languages.model.Language;
+import com.crowdin.client.projectsgroups.model.Project;
+import com.crowdin.client.projectsgroups.model.ProjectSettings;
+import com.crowdin.client.sourcefiles.model.Branch;
+import com.crowdin.client.sourcefiles.model.Directory;
+import com.crowdin.client.sourcefiles.model.File;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+import com.crowdin.client.sourcestrings.model.SourceString;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.ServiceManager;
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Stores snapshots of {@link CrowdinProjectCacheProvider.CrowdinProjectCache} in the IDE system directory,
+ * one file per Crowdin project, so that the cache is available right after the IDE starts, even offline.
+ * A file starts with a magic number and a format version followed by the snapshot as gzipped Jackson JSON,
+ * which is encoded and decoded straight through the gzip stream.
+ * JSON keeps the format tolerant to fields added to the API models, and the models are already mapped with Jackson;
+ * the header lets a changed format be told apart without parsing. Files of other versions, as well as unreadable ones,
+ * are ignored and removed.
+ */
+public class CrowdinProjectCacheStore {
+
+    static final int MAGIC = 0x43524443;
+    static final int VERSION = 2;
+
+    private static final String EXTENSION = ".cache";
+
+    private static final ObjectMapper JSON = new ObjectMapper()
+        .configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false)
+        .setSerializationInclusion(JsonInclude.Include.NON_NULL);
+
+    private final Path dir;
+
+    public CrowdinProjectCacheStore() {
+        this(Paths.get(PathManager.getSystemPath(), "crowdin", "cache"));
+    }
+
+    CrowdinProjectCacheStore(Path dir) {
+        this.dir = dir;
+    }
+
+    public static CrowdinProjectCacheStore getInstance() {
+        return ServiceManager.getService(CrowdinProjectCacheStore.class);
+    }
+
+    /**
+     * @return stored snapshot of the Crowdin project, or {@code null} if there is none or it can't be read
+     */
+    @Nullable
+    public synchronized CrowdinProjectCacheProvider.CrowdinProjectCache load(Long projectId) {
+        Path file = cachePath(projectId);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(Files.newInputStream(file))) {
+            if (in.readInt() == MAGIC && in.readInt() == VERSION) {
+                StoredCache stored;
+                try (InputStream data = new GZIPInputStream(in)) {
+                    stored = JSON.readValue(data, StoredCache.class);
+                }
+                if (stored != null && Objects.equals(projectId, stored.getProjectId())) {
+                    return stored.toCache();
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            // unreadable snapshot is treated the same way as a missing one
+        }
+        delete(file);
+        return null;
+    }
+
+    /**
+     * Replaces stored snapshot of the Crowdin project. Snapshots without project data are not stored
+     */
+    public synchronized void save(Long projectId, CrowdinProjectCacheProvider.CrowdinProjectCache cache) throws IOException {
+        if (cache.getProject() == null) {
+            return;
+        }
+        StoredCache stored = StoredCache.of(projectId, cache);
+        Files.createDirectories(dir);
+        Path target = cachePath(projectId);
+        Path temp = Files.createTempFile(dir, "cache", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(temp))) {
+                out.writeInt(MAGIC);
+                out.writeInt(VERSION);
+                try (OutputStream gzip = new GZIPOutputStream(out)) {
+                    JSON.writeValue(gzip, stored);
+                }
+            }
+            try {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temp);
+        }
+    }
+
+    private Path cachePath(Long projectId) {
+        return dir.resolve(projectId + EXTENSION);
+    }
+
+    private static void delete(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            // will be overwritten by the next save
+        }
+    }
+
+    /**
+     * Serialized form of the snapshot. Project and files are stored with their manager-only details when they were loaded with manager access
+     */
+    @Data
+    static class StoredCache {
+        private Long projectId;
+        private Project project;
+        private ProjectSettings projectSettings;
+        private List<Language> projectLanguages;
+        private List<Language> supportedLanguages;
+        private List<SourceString> strings;
+        private Map<String, Branch> branches;
+        private Map<Long, Map<String, FileInfo>> fileInfos;
+        private Map<Long, Map<String, File>> files;
+        private Map<Long, Map<String, Directory>> dirs;
+
+        static StoredCache of(Long projectId, CrowdinProjectCacheProvider.CrowdinProjectCache cache) {
+            StoredCache stored = new StoredCache();
+            stored.setProjectId(projectId);
+            if (cache.isManagerAccess()) {
+                stored.setProjectSettings(cache.getProjectSettings());
+                stored.setFiles(cache.getAllFiles());
+            } else {
+                stored.setProject(cache.getProject());
+                stored.setFileInfos(cache.getAllFileInfos());
+            }
+            stored.setProjectLanguages(cache.getProjectLanguages());
+            stored.setSupportedLanguages(cache.getSupportedLanguages());
+            stored.setStrings(cache.getStrings());
+            stored.setBranches(cache.getBranches());
+            stored.setDirs(cache.getAllDirs());
+            return stored;
+        }
+
+        CrowdinProjectCacheProvider.CrowdinProjectCache toCache() {
+            return (projectSettings != null)
+                ? CrowdinProjectCacheProvider.CrowdinProjectCache.restore(
+                    projectSettings, projectLanguages, supportedLanguages, strings, branches, files, dirs)
+                : CrowdinProjectCacheProvider.CrowdinProjectCache.restore(
+                    project, projectLanguages, supportedLanguages, strings, branches, fileInfos, dirs);
+        }
+    }
+}
@@ -17,4 +17,17 @@ public class CrowdinProperties {
     private boolean debug;
     private boolean autocompletionDisabled;
     private List<String> autocompletionFileExtensions;
+    /**
+     * Number of threads to extract downloaded translations with, {@code null} to extract them while downloading
+     */
+    private Integer extractThreads;
+    /**
+     * Number of languages in one translation build, {@code null} to build all languages together
+     */
+    private Integer languagesPerBuild;
+    /**
+     * Maximum number of translation files (source files times languages) that are built one by one instead of the project build,
+     * {@code 0} to always use the project build
+     */
+    private Integer fileBuildsThreshold;
 }
@@ -111,6 +111,11 @@ public class CrowdinPropertiesLoader {
             if (autocompletionFileExtensions != null) {
                 crowdinProperties.setAutocompletionFileExtensions(Arrays.asList(autocompletionFileExtensions.split(",")));
             }
+
+            crowdinProperties.setExtractThreads(getNumber(properties, PROPERTY_EXTRACT_THREADS, 1, errors));
+            crowdinProperties.setLanguagesPerBuild(getNumber(properties, PROPERTY_LANGUAGES_PER_BUILD, 1, errors));
+            Integer fileBuildsThreshold = getNumber(properties, PROPERTY_FILE_BUILDS_THRESHOLD, 0, errors);
+            crowdinProperties.setFileBuildsThreshold((fileBuildsThreshold != null) ? fileBuildsThreshold : FILE_BUILDS_THRESHOLD_DEFAULT);
         }
 
         if (!errors.isEmpty()) {
@@ -120,6 +125,24 @@ public class CrowdinPropertiesLoader {
         return crowdinProperties;
     }
 
+    private static Integer getNumber(Properties properties, String key, int minimum, List<String> errors) {
+        String value = properties.getProperty(key);
+        if (StringUtils.isEmpty(value)) {
+            return null;
+        }
+        try {
+            Integer number = Integer.valueOf(value.trim());
+            if (number < minimum) {
+                String messageKey = (minimum > 0) ? "errors.config.property_is_not_positive_number" : "errors.config.property_is_negative_number";
+                errors.add(String.format(MESSAGES_BUNDLE.getString(messageKey), key));
+            }
+            return number;
+        } catch (NumberFormatException e) {
+            errors.add(String.format(MESSAGES_BUNDLE.getString("errors.config.property_is_not_number"), key));
+            return null;
+        }
+    }
+
     private static List<FileBean> getFileBeans(Properties properties, List<String> errors) {
         List<FileBean> fileBeans = getSourcesList(properties);
         fileBeans.addAll(getSourcesWithTranslations(properties, errors));
@@ -0,0 +1,102 @@
+package com.crowdin.client;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+/**
+ * Adaptive token bucket.
+ * Every request takes one permit, permits are refilled with the current rate up to the burst size.
+ * When the server reports that it is overloaded (429/503) the rate is halved and all requests are paused,
+ * successful requests then restore the rate step by step.
+ * The API client doesn't expose response headers, so Retry-After can't be honored:
+ * the pause starts at one second and doubles with every throttled response until a request succeeds.
+ */
+public class RateLimiter {
+
+    private static final long DEFAULT_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(1);
+    private static final long MAX_PAUSE_NANOS = TimeUnit.SECONDS.toNanos(60);
+
+    private final double maxRate;
+    private final double minRate;
+    private final double burst;
+    private final LongSupplier clock;
+
+    private double rate;
+    private double permits;
+    private long lastRefill;
+    private long pausedUntil;
+    private long nextPause = DEFAULT_PAUSE_NANOS;
+
+    public RateLimiter(double maxRate, double minRate, int burst) {
+        this(maxRate, minRate, burst, System::nanoTime);
+    }
+
+    RateLimiter(double maxRate, double minRate, int burst, LongSupplier clock) {
+        this.maxRate = maxRate;
+        this.minRate = minRate;
+        this.burst = burst;
+        this.clock = clock;
+        this.rate = maxRate;
+        this.permits = burst;
+        this.lastRefill = clock.getAsLong();
+        this.pausedUntil = lastRefill;
+    }
+
+    /**
+     * Waits for a permit
+     * @return time in milliseconds the caller waited
+     */
+    public long acquire() {
+        long waitNanos = reserve();
+        if (waitNanos > 0) {
+            try {
+                TimeUnit.NANOSECONDS.sleep(waitNanos);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new RuntimeException("Interrupted while waiting for the rate limit", e);
+            }
+        }
+        return TimeUnit.NANOSECONDS.toMillis(waitNanos);
+    }
+
+    /**
+     * Takes a permit, possibly from the future
+     * @return time in nanoseconds to wait before the permit can be used
+     */
+    synchronized long reserve() {
+        long now = clock.getAsLong();
+        refill(now);
+        permits -= 1;
+        long permitWait = (permits >= 0) ? 0 : (long) (-permits / rate * TimeUnit.SECONDS.toNanos(1));
+        return Math.max(permitWait, pausedUntil - now);
+    }
+
+    public synchronized void onSuccess() {
+        refill(clock.getAsLong());
+        rate = Math.min(maxRate, rate + maxRate / 20);
+        nextPause = DEFAULT_PAUSE_NANOS;
+    }
+
+    /**
+     * Halves the rate and pauses all requests for the current backoff, which is doubled for the next throttled response
+     */
+    public synchronized void onThrottle() {
+        long now = clock.getAsLong();
+        refill(now);
+        rate = Math.max(minRate, rate / 2);
+        permits = Math.min(permits, 0);
+        pausedUntil = Math.max(pausedUntil, now + nextPause);
+        nextPause = Math.min(MAX_PAUSE_NANOS, nextPause * 2);
+    }
+
+    public synchronized double getRate() {
+        return rate;
+    }
+
+    private void refill(long now) {
+        if (now > lastRefill) {
+            permits = Math.min(burst, permits + (now - lastRefill) * rate / TimeUnit.SECONDS.toNanos(1));
+            lastRefill = now;
+        }
+    }
+}
@@ -71,6 +71,12 @@ public class RequestBuilder {
         return request;
     }
 
+    public static CrowdinTranslationCreateProjectBuildForm buildProjectTranslationsRequest(Long branchId, List<String> targetLanguageIds) {
+        CrowdinTranslationCreateProjectBuildForm request = buildProjectTranslationsRequest(branchId);
+        request.setTargetLanguageIds(targetLanguageIds);
+        return request;
+    }
+
     public static BuildProjectFileTranslationRequest buildProjectFileTranslation(String targetLanguageId) {
         BuildProjectFileTranslationRequest request = new BuildProjectFileTranslationRequest();
         request.setTargetLanguageId(targetLanguageId);
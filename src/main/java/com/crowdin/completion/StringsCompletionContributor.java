@@ -1,6 +1,7 @@
 package com.crowdin.completion;
 
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -58,20 +59,20 @@ public class StringsCompletionContributor extends CompletionContributor {
             return;
         }
 
-        Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+        Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
         BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
         String branchName = branchLogic.acquireBranchName(true);
         CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, false);
+                CrowdinProjectCacheProvider.getInstance(project).peek(crowdin, branchName);
 
         List<SourceString> strings = crowdinProjectCache.getStrings();
-        Branch branch = branchLogic.getBranch(crowdinProjectCache, false);
-
-        if (strings == null) {
+        if (strings == null || crowdinProjectCache.getBranches() == null) {
             return;
         }
 
+        Branch branch = branchLogic.getBranch(crowdinProjectCache, false);
+
         strings.stream()
                 .filter(s -> s.getIdentifier() != null && s.getText() != null)
                 .filter(s -> {
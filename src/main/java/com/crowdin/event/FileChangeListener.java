@@ -71,13 +71,13 @@ public class FileChangeListener implements Disposable, BulkFileListener {
                         return;
                     }
                     indicator.checkCanceled();
-                    Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+                    Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
                     BranchLogic branchLogic = new BranchLogic(crowdin, project, properties);
                     String branchName = branchLogic.acquireBranchName(true);
 
                     CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                        CrowdinProjectCacheProvider.getInstance(crowdin, branchName, false);
+                        CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator);
                     indicator.checkCanceled();
 
                     Map<FileBean, List<VirtualFile>> allSources = new HashMap<>();
@@ -115,7 +115,7 @@ public class FileChangeListener implements Disposable, BulkFileListener {
 
                     SourceLogic.processSources(project, FileUtil.getProjectBaseDir(project), crowdin, crowdinProjectCache, branch, properties.isPreserveHierarchy(), changedSources);
 
-                    CrowdinProjectCacheProvider.outdateBranch(branchName);
+                    CrowdinProjectCacheProvider.getInstance(project).invalidateFiles(crowdin.getProjectId(), branchName);
                 } catch (ProcessCanceledException e) {
                     throw e;
                 } catch (Exception e) {
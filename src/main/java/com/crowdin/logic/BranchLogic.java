@@ -1,5 +1,6 @@
 package com.crowdin.logic;
 
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
@@ -48,6 +49,7 @@ public class BranchLogic {
             if (createIfNotExists) {
                 AddBranchRequest addBranchRequest = RequestBuilder.addBranch(branchName);
                 branch = crowdin.addBranch(addBranchRequest);
+                CrowdinProjectCacheProvider.getInstance(project).invalidate(crowdin.getProjectId(), CacheComponent.BRANCHES);
                 NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.created_branch"), branch.getId(), branch.getName()));
             } else {
                 throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.branch_not_exists"), branchName));
@@ -0,0 +1,155 @@
+package com.crowdin.logic;
+
+import com.crowdin.client.translations.model.ProjectBuild;
+import com.intellij.openapi.progress.ProgressIndicator;
+import com.intellij.openapi.util.text.StringUtil;
+import org.jetbrains.annotations.NotNull;
+
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import static com.crowdin.Constants.MESSAGES_BUNDLE;
+
+/**
+ * Waits for a translation build to finish.
+ * The delay between status checks follows the build's own progress rate: a quarter of the estimated time left,
+ * so that small builds are noticed almost immediately and long builds are checked a few dozen times at most.
+ * Until the build reports any progress the delay grows exponentially.
+ * Several builds started together can be polled at once.
+ */
+public class BuildStatusPoller {
+
+    static final long MIN_DELAY_MILLIS = 250;
+    static final long MAX_DELAY_MILLIS = 10_000;
+
+    private static final long CHECK_CANCELED_MILLIS = 100;
+
+    private final LongSupplier clock;
+    private final long startedAt;
+    private long backoff = MIN_DELAY_MILLIS;
+
+    public BuildStatusPoller() {
+        this(System::currentTimeMillis);
+    }
+
+    BuildStatusPoller(LongSupplier clock) {
+        this.clock = clock;
+        this.startedAt = clock.getAsLong();
+    }
+
+    /**
+     * Polls the build until it is finished, reporting its progress and ETA to the indicator
+     * @param build build as returned when it was started
+     * @param checkStatus requests the current state of the build
+     * @param indicator indicator of the background task, polling stops with {@link com.intellij.openapi.progress.ProcessCanceledException} when it is cancelled
+     * @return finished build
+     */
+    public ProjectBuild await(@NotNull ProjectBuild build, @NotNull Supplier<ProjectBuild> checkStatus, ProgressIndicator indicator) {
+        AtomicReference<ProjectBuild> finished = new AtomicReference<>();
+        awaitAll(Collections.singletonList(build), buildId -> checkStatus.get(), finished::set, indicator);
+        return finished.get();
+    }
+
+    /**
+     * Polls builds started together until all of them are finished, reporting their average progress to the indicator.
+     * Every build is handed over as soon as it is finished, while the others are still polled.
+     * The delay between checks follows the build that is closest to the end
+     * @param builds builds as returned when they were started
+     * @param checkStatus requests the current state of the build by its id
+     * @param onFinished receives every finished build, called on the polling thread, so it should not block for long
+     * @param indicator indicator of the background task, polling stops with {@link com.intellij.openapi.progress.ProcessCanceledException} when it is cancelled
+     */
+    public void awaitAll(
+        @NotNull List<ProjectBuild> builds, @NotNull Function<Long, ProjectBuild> checkStatus, @NotNull Consumer<ProjectBuild> onFinished, ProgressIndicator indicator
+    ) {
+        boolean wasIndeterminate = indicator != null && indicator.isIndeterminate();
+        if (indicator != null) {
+            indicator.setIndeterminate(false);
+        }
+        try {
+            Map<Long, ProjectBuild> running = new LinkedHashMap<>();
+            builds.forEach(build -> running.put(build.getId(), build));
+            int finishedCount = 0;
+            while (true) {
+                int progressSum = 0;
+                int maxProgress = 0;
+                for (Iterator<ProjectBuild> iterator = running.values().iterator(); iterator.hasNext(); ) {
+                    ProjectBuild build = iterator.next();
+                    if ("finished".equalsIgnoreCase(build.getStatus())) {
+                        onFinished.accept(build);
+                        iterator.remove();
+                        finishedCount++;
+                    } else if ("failed".equalsIgnoreCase(build.getStatus()) || "canceled".equalsIgnoreCase(build.getStatus())) {
+                        throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.build_not_finished"), build.getId(), build.getStatus()));
+                    } else {
+                        int buildProgress = (build.getProgress() != null) ? build.getProgress() : 0;
+                        progressSum += buildProgress;
+                        maxProgress = Math.max(maxProgress, buildProgress);
+                    }
+                }
+                if (running.isEmpty()) {
+                    return;
+                }
+                int progress = (finishedCount * 100 + progressSum) / builds.size();
+                long now = clock.getAsLong();
+                if (indicator != null) {
+                    indicator.setFraction(progress / 100.0);
+                    long eta = etaMillis(progress, now);
+                    indicator.setText2((eta >= 0)
+                        ? String.format(MESSAGES_BUNDLE.getString("labels.build_progress_eta"), progress, StringUtil.formatDuration(eta))
+                        : String.format(MESSAGES_BUNDLE.getString("labels.build_progress"), progress));
+                }
+                sleep(nextDelayMillis(maxProgress, now), indicator);
+                running.replaceAll((buildId, build) -> checkStatus.apply(buildId));
+            }
+        } finally {
+            if (indicator != null) {
+                indicator.setText2(null);
+                indicator.setIndeterminate(wasIndeterminate);
+            }
+        }
+    }
+
+    /**
+     * @return estimated time left in milliseconds, or -1 if there is no progress to estimate from
+     */
+    long etaMillis(int progress, long now) {
+        if (progress <= 0 || progress >= 100) {
+            return -1;
+        }
+        return (now - startedAt) * (100 - progress) / progress;
+    }
+
+    long nextDelayMillis(int progress, long now) {
+        long eta = etaMillis(progress, now);
+        if (eta < 0) {
+            long delay = backoff;
+            backoff = Math.min(MAX_DELAY_MILLIS, backoff * 2);
+            return delay;
+        }
+        return Math.max(MIN_DELAY_MILLIS, Math.min(MAX_DELAY_MILLIS, eta / 4));
+    }
+
+    private static void sleep(long millis, ProgressIndicator indicator) {
+        long until = System.currentTimeMillis() + millis;
+        try {
+            for (long left = millis; left > 0; left = until - System.currentTimeMillis()) {
+                if (indicator != null) {
+                    indicator.checkCanceled();
+                }
+                Thread.sleep(Math.min(left, CHECK_CANCELED_MILLIS));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting for the translation build", e);
+        }
+    }
+}
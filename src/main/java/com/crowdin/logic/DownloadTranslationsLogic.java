@@ -1,42 +1,67 @@
 package com.crowdin.logic;
 
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinAsync;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.FileBean;
 import com.crowdin.client.RequestBuilder;
 import com.crowdin.client.languages.model.Language;
 import com.crowdin.client.sourcefiles.model.Branch;
+import com.crowdin.client.sourcefiles.model.FileInfo;
 import com.crowdin.client.translations.model.BuildProjectTranslationRequest;
 import com.crowdin.client.translations.model.ProjectBuild;
+import com.crowdin.client.translationstatus.model.LanguageProgress;
 import com.crowdin.util.CrowdinFileUtil;
 import com.crowdin.util.FileUtil;
 import com.crowdin.util.NotificationUtil;
 import com.crowdin.util.PlaceholderUtil;
+import com.crowdin.util.ZipUtil;
+import com.intellij.openapi.progress.ProgressIndicator;
 import com.intellij.openapi.project.Project;
-import com.intellij.openapi.util.Pair;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
-import net.lingala.zip4j.core.ZipFile;
-import net.lingala.zip4j.exception.ZipException;
-import org.apache.commons.io.FileUtils;
+import com.intellij.util.concurrency.AppExecutorUtil;
+import org.apache.commons.io.IOUtils;
+import org.apache.commons.io.input.TeeInputStream;
+import org.apache.commons.io.output.NullOutputStream;
 import org.apache.commons.lang.StringUtils;
 
+import java.io.BufferedOutputStream;
 import java.io.File;
+import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
 import java.net.URL;
-import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 
+import static com.crowdin.Constants.FILE_BUILDS_THRESHOLD_DEFAULT;
 import static com.crowdin.Constants.MESSAGES_BUNDLE;
 
 public class DownloadTranslationsLogic {
 
+    private static final int PARALLEL_BUILD_DOWNLOADS = 4;
+
     private final Project project;
     private final Crowdin crowdin;
     private final CrowdinProperties properties;
@@ -44,6 +69,11 @@ public class DownloadTranslationsLogic {
     private final CrowdinProjectCacheProvider.CrowdinProjectCache projectCache;
     private final Branch branch;
 
+    private final AtomicInteger updatedFiles = new AtomicInteger();
+    private final AtomicInteger unchangedFiles = new AtomicInteger();
+    private final Set<File> writtenFiles = ConcurrentHashMap.newKeySet();
+    private final Map<String, VirtualFile> sourcesByTarget = new HashMap<>();
+
     public DownloadTranslationsLogic(
         Project project, Crowdin crowdin, CrowdinProperties properties, VirtualFile root, CrowdinProjectCacheProvider.CrowdinProjectCache projectCache, Branch branch
     ) {
@@ -55,67 +85,346 @@ public class DownloadTranslationsLogic {
         this.branch = branch;
     }
 
-    public void process() {
-        File archive = null;
-        String tempDir = null;
+    public void process(ProgressIndicator indicator) {
         try {
-            archive = downloadArchive();
-            tempDir = archive.getParent() + File.separator + "all" + System.nanoTime();
+            Map<String, Map<String, File>> targetsByLanguage = findAllTranslationsByLanguage();
+            DownloadedTranslations downloaded = downloadTranslations(indicator, targetsByLanguage);
+            logFoundTranslations(downloaded.targets, downloaded.entries);
+            NotificationUtil.showInformationMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.success.download_translations"), updatedFiles.get(), unchangedFiles.get()));
+            notifyAboutOmittedFiles(downloaded.targets, downloaded.entries);
+        } finally {
+            refresh();
+        }
+    }
 
-            extractArchive(archive, tempDir);
+    /**
+     * Downloads translations of the reusable build, or of a newly started one.
+     * A new build covers only the languages whose progress changed since the last download, or whose files are missing locally,
+     * unless nothing is known about the previous download or no language progress has changed (e.g. a translation was edited).
+     * @return targets the archive was extracted to and paths of all files in the archive
+     */
+    public DownloadedTranslations downloadTranslations(ProgressIndicator indicator, Map<String, Map<String, File>> targetsByLanguage) {
+        NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.download_archive"));
+        Long branchId = (branch != null) ? branch.getId() : null;
+        TranslationBuildsState buildsState = TranslationBuildsState.getInstance(project);
+        String buildKey = TranslationBuildsState.key(properties.getProjectId(), branchId);
+        TranslationBuildsState.BuildRecord previousBuild = buildsState.get(buildKey);
+        Date lastActivity = crowdin.getProject().getLastActivity();
+        Map<String, String> languageProgress = languageProgress(crowdin.getProjectProgress());
 
-            List<File> files = FileUtil.walkDir(Paths.get(tempDir));
+        Map<String, File> targets = targetsOf(targetsByLanguage, targetsByLanguage.keySet());
+        Executor extractExecutor = extractExecutor();
+        ExtractedArchive archive = null;
+        Long buildId = null;
+        boolean allLanguages = true;
+        if (previousBuild != null && previousBuild.isAllLanguages()
+            && lastActivity != null && previousBuild.getLastActivity() == lastActivity.getTime()) {
+            try {
+                archive = extractBuild(crowdin.checkBuildingStatus(previousBuild.getBuildId()), targets, extractExecutor);
+                buildId = previousBuild.getBuildId();
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.reuse_build"), buildId));
+            } catch (RuntimeException e) {
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.build_not_reusable"), previousBuild.getBuildId(), e.getMessage()));
+            }
+        }
+        if (archive == null) {
+            List<String> changedLanguages = changedLanguages(previousBuild, languageProgress, targetsByLanguage);
+            allLanguages = changedLanguages.isEmpty() || changedLanguages.containsAll(languageProgress.keySet());
+            if (!allLanguages) {
+                targets = targetsOf(targetsByLanguage, changedLanguages);
+            }
+            List<String> languagesToBuild = allLanguages
+                ? new ArrayList<>(languageProgress.isEmpty() ? targetsByLanguage.keySet() : languageProgress.keySet())
+                : changedLanguages;
+            List<List<String>> languageGroups = languageGroups(languagesToBuild);
+            int translationFiles = languagesToBuild.stream()
+                .mapToInt(languageId -> targetsByLanguage.getOrDefault(languageId, Collections.emptyMap()).size())
+                .sum();
+            BuildKind buildKind = buildKind(properties.getFileBuildsThreshold(), translationFiles, languageGroups.size());
+            List<FileTranslation> fileTranslations = null;
+            if (buildKind == BuildKind.FILES) {
+                fileTranslations = fileTranslations(targetsByLanguage, languagesToBuild);
+                if (fileTranslations == null) {
+                    // some sources aren't in Crowdin, build the languages as if file builds were off
+                    buildKind = buildKind(0, translationFiles, languageGroups.size());
+                }
+            }
+            if (buildKind == BuildKind.FILES) {
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.start_file_builds"), fileTranslations.size()));
+                archive = downloadFileTranslations(indicator, fileTranslations);
+                // file builds aren't recorded, the record keeps only the language progress
+                buildId = 0L;
+                allLanguages = false;
+            } else if (buildKind == BuildKind.LANGUAGE_GROUPS) {
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.start_builds"), languageGroups.size()));
+                archive = downloadLanguageGroups(indicator, branchId, languageGroups, targetsByLanguage, extractExecutor);
+                // several builds can't be reused as one, the record keeps only the language progress
+                buildId = 0L;
+                allLanguages = false;
+            } else {
+                BuildProjectTranslationRequest request;
+                if (allLanguages) {
+                    NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.start_build"));
+                    request = RequestBuilder.buildProjectTranslationsRequest(branchId);
+                } else {
+                    NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.start_build_for_languages"), String.join(", ", changedLanguages)));
+                    request = RequestBuilder.buildProjectTranslationsRequest(branchId, changedLanguages);
+                }
+                ProjectBuild projectBuild = crowdin.startBuildingTranslation(request);
+                buildId = projectBuild.getId();
+                Long startedBuildId = buildId;
+                archive = extractBuild(new BuildStatusPoller().await(projectBuild, () -> crowdin.checkBuildingStatus(startedBuildId), indicator), targets, extractExecutor);
+            }
+        }
 
-            List<Pair<File, File>> targets = findAllTranslations(tempDir, files);
-            extractTranslations(targets);
+        if (previousBuild != null && previousBuild.isAllLanguages() && allLanguages && archive.sha256.equals(previousBuild.getArchiveSha256())) {
+            NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.archive_unchanged"));
+        }
+        if (lastActivity != null) {
+            buildsState.put(buildKey, new TranslationBuildsState.BuildRecord(buildId, lastActivity.getTime(), archive.sha256, allLanguages, languageProgress));
+        } else {
+            buildsState.remove(buildKey);
+        }
+        return new DownloadedTranslations(targets, archive.entries);
+    }
 
-            notifyAboutOmittedFiles(targets, files, tempDir);
-        } finally {
-            clear(archive, tempDir);
+    /**
+     * Starts a build for every group of languages together. The archive of every build is downloaded and extracted
+     * in the background as soon as that build is finished, while the other builds are still running.
+     * All archives share the given extract executor, so {@code extract-threads} bounds the extraction of the whole download
+     * @return all extracted archives combined, without a checksum
+     */
+    private ExtractedArchive downloadLanguageGroups(
+        ProgressIndicator indicator, Long branchId, List<List<String>> languageGroups, Map<String, Map<String, File>> targetsByLanguage,
+        Executor extractExecutor
+    ) {
+        CrowdinAsync crowdinAsync = new CrowdinAsync(crowdin);
+        List<ProjectBuild> builds = CrowdinAsync.await(CrowdinAsync.allOf(languageGroups.stream()
+            .map(languageIds -> crowdinAsync.startBuildingTranslation(RequestBuilder.buildProjectTranslationsRequest(branchId, languageIds)))
+            .collect(Collectors.toList())), indicator);
+        Map<Long, List<String>> languagesByBuild = new HashMap<>();
+        for (int i = 0; i < builds.size(); i++) {
+            languagesByBuild.put(builds.get(i).getId(), languageGroups.get(i));
         }
+
+        Executor executor = AppExecutorUtil.createBoundedApplicationPoolExecutor("Crowdin Builds Download", PARALLEL_BUILD_DOWNLOADS);
+        List<CompletableFuture<ExtractedArchive>> extractions = new ArrayList<>();
+        try {
+            new BuildStatusPoller().awaitAll(builds, crowdin::checkBuildingStatus, build -> extractions.add(CompletableFuture.supplyAsync(
+                () -> extractBuild(build, targetsOf(targetsByLanguage, languagesByBuild.get(build.getId())), extractExecutor), executor)), indicator);
+        } catch (RuntimeException e) {
+            extractions.forEach(extraction -> extraction.cancel(true));
+            throw e;
+        }
+        List<String> entries = CrowdinAsync.await(CrowdinAsync.allOf(extractions), indicator).stream()
+            .flatMap(extracted -> extracted.entries.stream())
+            .collect(Collectors.toList());
+        return new ExtractedArchive(entries, null);
     }
 
-    public File downloadArchive() {
-        NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.download_archive"));
-        BuildProjectTranslationRequest request = RequestBuilder.buildProjectTranslationsRequest(branch != null ? branch.getId() : null);
+    /**
+     * Translation files are built one by one only if there are no more of them than {@code file-builds-threshold},
+     * which is off by default: file builds can't be reused by the next download, unlike the project build
+     * @return how the translations are built
+     */
+    static BuildKind buildKind(Integer fileBuildsThreshold, int translationFiles, int languageGroups) {
+        int threshold = (fileBuildsThreshold != null) ? fileBuildsThreshold : FILE_BUILDS_THRESHOLD_DEFAULT;
+        if (translationFiles > 0 && translationFiles <= threshold) {
+            return BuildKind.FILES;
+        }
+        return (languageGroups > 1) ? BuildKind.LANGUAGE_GROUPS : BuildKind.PROJECT;
+    }
 
-        ProjectBuild projectBuild = crowdin.startBuildingTranslation(request);
-        Long buildId = projectBuild.getId();
+    /**
+     * @return translation files to download instead of the project build, or {@code null} if some of their sources
+     * can't be matched with files in Crowdin
+     */
+    private List<FileTranslation> fileTranslations(Map<String, Map<String, File>> targetsByLanguage, List<String> languageIds) {
+        Map<String, FileInfo> fileInfos = projectCache.getFileInfos(branch);
+        Map<VirtualFile, Long> fileIds = new HashMap<>();
+        List<FileTranslation> fileTranslations = new ArrayList<>();
+        try {
+            for (String languageId : languageIds) {
+                for (Map.Entry<String, File> target : targetsByLanguage.getOrDefault(languageId, Collections.emptyMap()).entrySet()) {
+                    Long fileId = fileIds.computeIfAbsent(sourcesByTarget.get(target.getKey()),
+                        source -> ContextLogic.findSourceIdFromSourceFile(properties, fileInfos, source, root));
+                    fileTranslations.add(new FileTranslation(fileId, languageId, target.getKey(), target.getValue()));
+                }
+            }
+        } catch (RuntimeException e) {
+            NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.file_builds_not_possible"), e.getMessage()));
+            return null;
+        }
+        return fileTranslations;
+    }
 
-        while (!projectBuild.getStatus().equalsIgnoreCase("finished")) {
-            projectBuild = crowdin.checkBuildingStatus(buildId);
+    /**
+     * Builds and downloads every translation file in parallel, writing each straight to its target
+     * @return paths of the downloaded translations, without a checksum
+     */
+    private ExtractedArchive downloadFileTranslations(ProgressIndicator indicator, List<FileTranslation> fileTranslations) {
+        CrowdinAsync crowdinAsync = new CrowdinAsync(crowdin);
+        List<CompletableFuture<String>> downloads = fileTranslations.stream()
+            .map(fileTranslation -> crowdinAsync.call(client -> {
+                URL url = client.downloadFileTranslation(fileTranslation.fileId, RequestBuilder.buildProjectFileTranslation(fileTranslation.languageId));
+                try (InputStream data = client.openStream(url)) {
+                    extractTranslation(data, -1, fileTranslation.target);
+                } catch (IOException e) {
+                    throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.download_file"), fileTranslation.target, e.getMessage()), e);
+                }
+                return fileTranslation.archivePath;
+            }))
+            .collect(Collectors.toList());
+        return new ExtractedArchive(CrowdinAsync.await(CrowdinAsync.allOf(downloads), indicator), null);
+    }
+
+    /**
+     * @return languages split into groups of {@code languages-per-build}, or a single group if it is not configured
+     */
+    private List<List<String>> languageGroups(List<String> languageIds) {
+        Integer languagesPerBuild = properties.getLanguagesPerBuild();
+        if (languagesPerBuild == null || languagesPerBuild >= languageIds.size()) {
+            return Collections.singletonList(languageIds);
         }
+        List<List<String>> groups = new ArrayList<>();
+        for (int from = 0; from < languageIds.size(); from += languagesPerBuild) {
+            groups.add(languageIds.subList(from, Math.min(from + languagesPerBuild, languageIds.size())));
+        }
+        return groups;
+    }
 
-        URL url = crowdin.downloadProjectTranslations(buildId);
+    /**
+     * @return ids of languages to build, or empty list if all languages have to be built
+     */
+    private List<String> changedLanguages(
+        TranslationBuildsState.BuildRecord previousBuild, Map<String, String> languageProgress, Map<String, Map<String, File>> targetsByLanguage
+    ) {
+        if (previousBuild == null || previousBuild.getLanguageProgress().isEmpty() || languageProgress.isEmpty()) {
+            return Collections.emptyList();
+        }
+        List<String> changedLanguages = previousBuild.changedLanguages(languageProgress);
+        if (changedLanguages.isEmpty()) {
+            return changedLanguages;
+        }
+        Set<String> languagesToBuild = new TreeSet<>(changedLanguages);
+        targetsByLanguage.forEach((languageId, targets) -> {
+            if (languageProgress.containsKey(languageId) && targets.values().stream().anyMatch(target -> !target.exists())) {
+                languagesToBuild.add(languageId);
+            }
+        });
+        return new ArrayList<>(languagesToBuild);
+    }
 
-        try {
-            return FileUtil.downloadTempFile(url.openStream());
-        } catch (IOException e) {
-            throw new RuntimeException("Couldn't download file", e);
+    /**
+     * Project progress covers all branches, so a change in another branch only makes the build a bit bigger than needed
+     * @return progress of every target language reduced to a comparable string, by language id
+     */
+    private static Map<String, String> languageProgress(List<LanguageProgress> projectProgress) {
+        Map<String, String> result = new TreeMap<>();
+        for (LanguageProgress progress : projectProgress) {
+            result.put(progress.getLanguageId(), String.join("/",
+                String.valueOf(progress.getTranslationProgress()),
+                String.valueOf(progress.getApprovalProgress()),
+                (progress.getWords() != null) ? progress.getWords().getTranslated() + "/" + progress.getWords().getApproved() : "",
+                (progress.getPhrases() != null) ? progress.getPhrases().getTotal() + "/" + progress.getPhrases().getTranslated() + "/" + progress.getPhrases().getApproved() : ""));
         }
+        return result;
     }
 
-    public void extractArchive(File archive, String dirPath) {
-        NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.extract_files"), archive));
-        if (archive == null) {
-            return;
+    private static Map<String, File> targetsOf(Map<String, Map<String, File>> targetsByLanguage, Collection<String> languageIds) {
+        Map<String, File> targets = new LinkedHashMap<>();
+        for (String languageId : languageIds) {
+            targets.putAll(targetsByLanguage.getOrDefault(languageId, Collections.emptyMap()));
+        }
+        return targets;
+    }
+
+    /**
+     * @return executor bounded by {@code extract-threads}, or {@code null} if the archive is extracted on the fly
+     */
+    private Executor extractExecutor() {
+        Integer extractThreads = properties.getExtractThreads();
+        return (extractThreads != null && extractThreads > 1)
+            ? AppExecutorUtil.createBoundedApplicationPoolExecutor("Crowdin Extract", extractThreads)
+            : null;
+    }
+
+    /**
+     * Extracts the targets from the archive of the finished build, taking the archive from the local cache if it is there.
+     * Otherwise the archive is downloaded into the cache: by default it is streamed and the targets are written straight to their places
+     * while the archive is saved, with {@code extract-threads} configured the archive is saved first and the targets are extracted in parallel.
+     */
+    private ExtractedArchive extractBuild(ProjectBuild projectBuild, Map<String, File> targets, Executor executor) {
+        if (!"finished".equalsIgnoreCase(projectBuild.getStatus())) {
+            throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.build_not_finished"), projectBuild.getId(), projectBuild.getStatus()));
+        }
+        Long branchId = (branch != null) ? branch.getId() : null;
+        TranslationArchiveCache archiveCache = TranslationArchiveCache.getInstance();
+        TranslationArchiveCache.CachedArchive cachedArchive = archiveCache.get(properties.getProjectId(), branchId, projectBuild.getId());
+        if (cachedArchive != null) {
+            NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.archive_from_cache"), projectBuild.getId()));
+            try {
+                List<String> entries = ZipUtil.extractSelected(cachedArchive.getFile(), targets, this::extractTranslation, (executor != null) ? executor : Runnable::run);
+                return new ExtractedArchive(entries, cachedArchive.getSha256());
+            } catch (IOException e) {
+                throw new RuntimeException(MESSAGES_BUNDLE.getString("errors.extract_archive"), e);
+            }
         }
-        ZipFile zipFile = null;
+
+        URL url = crowdin.downloadProjectTranslations(projectBuild.getId());
+        NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.extract_files"));
+        MessageDigest digest = FileUtil.sha256Digest();
+        File archive = null;
         try {
-            zipFile = new ZipFile(archive);
-        } catch (ZipException e) {
-            throw new RuntimeException("Unexpected error: couldn't find zip file", e);
+            archive = archiveCache.createTempFile();
+            List<String> entries;
+            if (executor != null) {
+                try (InputStream data = new DigestInputStream(crowdin.openStream(url), digest)) {
+                    java.nio.file.Files.copy(data, archive.toPath(), StandardCopyOption.REPLACE_EXISTING);
+                }
+                entries = ZipUtil.extractSelected(archive, targets, this::extractTranslation, executor);
+            } else {
+                OutputStream archiveOutput = new BufferedOutputStream(new FileOutputStream(archive));
+                try (InputStream data = new TeeInputStream(new DigestInputStream(crowdin.openStream(url), digest), archiveOutput, true)) {
+                    entries = ZipUtil.extractSelected(data, targets, this::extractTranslation);
+                    IOUtils.copy(data, NullOutputStream.NULL_OUTPUT_STREAM);
+                }
+            }
+            String sha256 = FileUtil.toHex(digest.digest());
+            try {
+                archiveCache.put(properties.getProjectId(), branchId, projectBuild.getId(), archive, sha256);
+            } catch (IOException e) {
+                NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.archive_not_cached"), e.getMessage()));
+            }
+            return new ExtractedArchive(entries, sha256);
+        } catch (IOException e) {
+            throw new RuntimeException(MESSAGES_BUNDLE.getString("errors.extract_archive"), e);
+        } finally {
+            if (archive != null) {
+                archive.delete();
+            }
         }
+    }
 
+    private void extractTranslation(InputStream content, long size, File target) {
         try {
-            zipFile.extractAll(dirPath);
-        } catch (ZipException e) {
-            throw new RuntimeException("Unexpected error: couldn't extract zip file", e);
+            if (FileUtil.writeIfChanged(content, size, target)) {
+                updatedFiles.incrementAndGet();
+                writtenFiles.add(target);
+            } else {
+                unchangedFiles.incrementAndGet();
+            }
+        } catch (IOException e) {
+            NotificationUtil.logErrorMessage(project, e);
+            NotificationUtil.showWarningMessage(project, String.format(MESSAGES_BUNDLE.getString("errors.extract_file"), target));
         }
     }
 
-    public List<Pair<File, File>> findAllTranslations(String tempDir, List<java.io.File> files) {
-        List<Pair<File, File>> targets = new ArrayList<>();
+    /**
+     * @return target files by paths of translations in the archive, grouped by language id
+     */
+    public Map<String, Map<String, File>> findAllTranslationsByLanguage() {
+        Map<String, Map<String, File>> targets = new LinkedHashMap<>();
         for (FileBean fileBean : properties.getFiles()) {
             for (VirtualFile source : FileUtil.getSourceFilesRec(root, fileBean.getSource())) {
                 VirtualFile pathToPattern = FileUtil.getBaseDir(source, fileBean.getSource());
@@ -127,68 +436,51 @@ public class DownloadTranslationsLogic {
                     PlaceholderUtil.buildTranslationPatterns(sourceRelativePath, fileBean.getTranslation(),
                         projectCache.getProjectLanguages(), projectCache.getLanguageMapping());
                 for (Map.Entry<Language, String> translationPathEntry : translationPaths.entrySet()) {
-                    File fromFile = new File(FileUtil.joinPaths(tempDir, relativePathToPattern, translationPathEntry.getValue()));
+                    String archivePath = ZipUtil.entryKey(FileUtil.joinPaths(relativePathToPattern, translationPathEntry.getValue()));
                     File toFile = new File(FileUtil.joinPaths(pathToPattern.getPath(), translationPathEntry.getValue()));
-                    if (!files.contains(fromFile)) {
-                        NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.file_not_found"),
-                            FileUtil.joinPaths(relativePathToPattern, translationPathEntry.getValue())));
-                        continue;
-                    }
-                    NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString("messages.debug.download.file_found"),
-                        FileUtil.joinPaths(relativePathToPattern, translationPathEntry.getValue())));
-                    targets.add(Pair.create(fromFile, toFile));
+                    targets.computeIfAbsent(translationPathEntry.getKey().getId(), languageId -> new LinkedHashMap<>())
+                        .put(archivePath, toFile);
+                    sourcesByTarget.put(archivePath, source);
                 }
             }
         }
         return targets;
     }
 
-    public void extractTranslations(List<Pair<File, File>> targets) {
-        for (Pair<File, File> target : targets) {
-            File fromFile = target.first;
-            File toFile = target.second;
-            toFile.getParentFile().mkdirs();
-            if (!fromFile.renameTo(toFile) && toFile.delete() && !fromFile.renameTo(toFile)) {
-                NotificationUtil.showWarningMessage(project, String.format(MESSAGES_BUNDLE.getString("errors.extract_file"), toFile));
-            }
+    private void logFoundTranslations(Map<String, File> targets, List<String> entries) {
+        Set<String> entrySet = new HashSet<>(entries);
+        for (String archivePath : targets.keySet()) {
+            String messageKey = entrySet.contains(archivePath) ? "messages.debug.download.file_found" : "messages.debug.download.file_not_found";
+            NotificationUtil.logDebugMessage(project, String.format(MESSAGES_BUNDLE.getString(messageKey), FileUtil.sepAtStart(FileUtil.normalizePath(archivePath))));
         }
     }
 
-    public void clear(File archive, String tempDir) {
-        NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.download.clearing"));
-        if (archive != null) {
-            archive.delete();
-        }
-        if (tempDir != null) {
-            try {
-                FileUtils.deleteDirectory(new File(tempDir));
-            } catch (IOException e) {
-                throw new RuntimeException("Couldn't delete temporary directory", e);
-            }
-        }
-        if (root != null) {
-            root.refresh(true, true);
+    /**
+     * Refreshes only the files written by the download, instead of rescanning the whole project
+     */
+    public void refresh() {
+        if (!writtenFiles.isEmpty()) {
+            LocalFileSystem.getInstance().refreshIoFiles(new ArrayList<>(writtenFiles), true, false, null);
         }
     }
 
-    public void notifyAboutOmittedFiles(List<Pair<File, File>> targets, List<java.io.File> files, String tempDir) {
+    public void notifyAboutOmittedFiles(Map<String, File> targets, List<String> entries) {
         Map<String, String> allCrowdinTranslationsWithSources = CrowdinFileUtil.buildAllProjectTranslationsWithSources(
             new ArrayList<>(projectCache.getFiles(branch).values()),
-            CrowdinFileUtil.revDirPaths(projectCache.getDirs().getOrDefault(branch, new HashMap<>())),
+            CrowdinFileUtil.revDirPaths(projectCache.getDirs(branch)),
             projectCache.getProjectLanguages(),
             projectCache.getLanguageMapping()
         );
 
-        List<File> foundTranslations = targets.stream().map(p -> p.getFirst()).collect(Collectors.toList());
-        List<File> omittedTranslations = files.stream()
-            .filter(f -> !foundTranslations.contains(f))
+        List<String> omittedTranslations = entries.stream()
+            .filter(entry -> !targets.containsKey(entry))
             .collect(Collectors.toList());
 
         Set<String> omittedSources = new HashSet<>();
         Set<String> notFoundTranslations = new HashSet<>();
         if (!omittedTranslations.isEmpty()) {
-            for (File omittedTranslation : omittedTranslations) {
-                String omittedFileString = StringUtils.removeStart(omittedTranslation.toString(), tempDir);
+            for (String omittedTranslation : omittedTranslations) {
+                String omittedFileString = FileUtil.sepAtStart(FileUtil.normalizePath(omittedTranslation));
                 if (allCrowdinTranslationsWithSources.containsKey(omittedFileString)) {
                     omittedSources.add(allCrowdinTranslationsWithSources.get(omittedFileString));
                 } else {
@@ -213,4 +505,42 @@ public class DownloadTranslationsLogic {
             NotificationUtil.showWarningMessage(project, omittedFilesText);
         }
     }
+
+    enum BuildKind {
+        FILES, LANGUAGE_GROUPS, PROJECT
+    }
+
+    public static class DownloadedTranslations {
+        private final Map<String, File> targets;
+        private final List<String> entries;
+
+        private DownloadedTranslations(Map<String, File> targets, List<String> entries) {
+            this.targets = targets;
+            this.entries = entries;
+        }
+    }
+
+    private static class FileTranslation {
+        private final Long fileId;
+        private final String languageId;
+        private final String archivePath;
+        private final File target;
+
+        private FileTranslation(Long fileId, String languageId, String archivePath, File target) {
+            this.fileId = fileId;
+            this.languageId = languageId;
+            this.archivePath = archivePath;
+            this.target = target;
+        }
+    }
+
+    private static class ExtractedArchive {
+        private final List<String> entries;
+        private final String sha256;
+
+        private ExtractedArchive(List<String> entries, String sha256) {
+            this.entries = entries;
+            this.sha256 = sha256;
+        }
+    }
 }
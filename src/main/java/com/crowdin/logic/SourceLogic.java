@@ -44,7 +44,8 @@ public class SourceLogic {
         Branch branch, boolean preserveHierarchy, Map<FileBean, List<VirtualFile>> sourcesToUpload
     ) {
         Map<String, FileInfo> filePaths = projectCache.getFileInfos(branch);
-        Map<String, Directory> dirPaths = projectCache.getDirs().getOrDefault(branch, new HashMap<>());
+        // directories created during the upload are added to own copy, the cached snapshot is shared with other threads
+        Map<String, Directory> dirPaths = new HashMap<>(projectCache.getDirs(branch));
         Map<String, Long> labels = SourceLogic.prepareLabels(crowdin, new ArrayList<>(sourcesToUpload.keySet()));
         Long branchId = (branch != null) ? branch.getId() : null;
 
@@ -0,0 +1,156 @@
+package com.crowdin.logic;
+
+import com.crowdin.util.FileUtil;
+import com.intellij.openapi.application.PathManager;
+import com.intellij.openapi.components.ServiceManager;
+import lombok.Data;
+import org.jetbrains.annotations.Nullable;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Keeps downloaded translation archives in the IDE system directory, shared by all open projects,
+ * so that the same build is never downloaded twice, e.g. when the build is reused or extraction is retried.
+ * Archives are stored by Crowdin project, branch and build id together with their SHA-256 checksum, which is verified on every hit.
+ * Total size is bounded, least recently used archives are evicted first.
+ */
+public class TranslationArchiveCache {
+
+    static final long MAX_SIZE_BYTES = 512L * 1024 * 1024;
+
+    private static final String ARCHIVE_EXTENSION = ".zip";
+    private static final String CHECKSUM_EXTENSION = ".sha256";
+    private static final String TEMP_EXTENSION = ".crowdin.tmp";
+    private static final long STALE_TEMP_MILLIS = TimeUnit.HOURS.toMillis(1);
+
+    private final Path dir;
+    private final long maxSizeBytes;
+
+    public TranslationArchiveCache() {
+        this(Paths.get(PathManager.getSystemPath(), "crowdin", "archives"), MAX_SIZE_BYTES);
+    }
+
+    TranslationArchiveCache(Path dir, long maxSizeBytes) {
+        this.dir = dir;
+        this.maxSizeBytes = maxSizeBytes;
+    }
+
+    public static TranslationArchiveCache getInstance() {
+        return ServiceManager.getService(TranslationArchiveCache.class);
+    }
+
+    /**
+     * @return cached archive of the build, or {@code null} if there is none or its content doesn't match the checksum anymore
+     */
+    @Nullable
+    public synchronized CachedArchive get(Long projectId, Long branchId, long buildId) {
+        Path archive = archivePath(projectId, branchId, buildId);
+        Path checksum = checksumPath(archive);
+        if (!Files.isRegularFile(archive) || !Files.isRegularFile(checksum)) {
+            return null;
+        }
+        try {
+            String sha256 = new String(Files.readAllBytes(checksum), StandardCharsets.US_ASCII).trim();
+            if (sha256.equals(FileUtil.sha256(archive.toFile()))) {
+                Files.setLastModifiedTime(archive, FileTime.fromMillis(System.currentTimeMillis()));
+                return new CachedArchive(archive.toFile(), sha256);
+            }
+        } catch (IOException e) {
+            // unreadable archive is treated the same way as a corrupted one
+        }
+        delete(archive);
+        return null;
+    }
+
+    /**
+     * Creates a file in the cache directory to download an archive to, so that it can be put into the cache by renaming it
+     */
+    public File createTempFile() throws IOException {
+        Files.createDirectories(dir);
+        return Files.createTempFile(dir, "archive", TEMP_EXTENSION).toFile();
+    }
+
+    /**
+     * Moves the downloaded archive into the cache and evicts least recently used archives above the size limit
+     */
+    public synchronized void put(Long projectId, Long branchId, long buildId, File archive, String sha256) throws IOException {
+        Files.createDirectories(dir);
+        Path target = archivePath(projectId, branchId, buildId);
+        try {
+            Files.move(archive.toPath(), target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(archive.toPath(), target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        Files.write(checksumPath(target), sha256.getBytes(StandardCharsets.US_ASCII));
+        Files.setLastModifiedTime(target, FileTime.fromMillis(System.currentTimeMillis()));
+        evict();
+    }
+
+    private void evict() throws IOException {
+        List<Path> archives;
+        try (Stream<Path> files = Files.list(dir)) {
+            archives = files.collect(Collectors.toList());
+        }
+        long now = System.currentTimeMillis();
+        for (Path file : archives) {
+            if (file.getFileName().toString().endsWith(TEMP_EXTENSION) && now - Files.getLastModifiedTime(file).toMillis() > STALE_TEMP_MILLIS) {
+                Files.deleteIfExists(file);
+            }
+        }
+        archives = archives.stream()
+            .filter(file -> file.getFileName().toString().endsWith(ARCHIVE_EXTENSION) && Files.exists(file))
+            .sorted(Comparator.comparingLong(TranslationArchiveCache::lastModified))
+            .collect(Collectors.toList());
+        long totalSize = 0;
+        for (Path archive : archives) {
+            totalSize += Files.size(archive);
+        }
+        for (Path archive : archives) {
+            if (totalSize <= maxSizeBytes) {
+                break;
+            }
+            totalSize -= Files.size(archive);
+            delete(archive);
+        }
+    }
+
+    private Path archivePath(Long projectId, Long branchId, long buildId) {
+        return dir.resolve(projectId + "-" + ((branchId != null) ? branchId : 0) + "-" + buildId + ARCHIVE_EXTENSION);
+    }
+
+    private static Path checksumPath(Path archive) {
+        return archive.resolveSibling(archive.getFileName() + CHECKSUM_EXTENSION);
+    }
+
+    private static long lastModified(Path file) {
+        return file.toFile().lastModified();
+    }
+
+    private static void delete(Path archive) {
+        try {
+            Files.deleteIfExists(archive);
+            Files.deleteIfExists(checksumPath(archive));
+        } catch (IOException e) {
+            // will be evicted again next time
+        }
+    }
+
+    @Data
+    public static class CachedArchive {
+        private final File file;
+        private final String sha256;
+    }
+}
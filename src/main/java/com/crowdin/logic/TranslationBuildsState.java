@@ -0,0 +1,137 @@
+package com.crowdin.logic;
+
+import com.intellij.openapi.components.PersistentStateComponent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.components.State;
+import com.intellij.openapi.components.Storage;
+import com.intellij.openapi.components.StoragePathMacros;
+import com.intellij.openapi.project.Project;
+import lombok.Data;
+import org.jdom.Element;
+import org.jetbrains.annotations.NotNull;
+import org.jetbrains.annotations.Nullable;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Remembers the last translation build downloaded for every Crowdin project and branch,
+ * so that the build can be reused while nothing has changed in the project since it was made,
+ * together with the progress of every language at that moment, so that the next build can be limited to changed languages.
+ */
+@State(name = "CrowdinTranslationBuilds", storages = @Storage(StoragePathMacros.WORKSPACE_FILE))
+public class TranslationBuildsState implements PersistentStateComponent<Element> {
+
+    private static final String BUILDS_TAG = "CrowdinTranslationBuilds";
+    private static final String BUILD_TAG = "build";
+    private static final String KEY = "key";
+    private static final String BUILD_ID = "buildId";
+    private static final String LAST_ACTIVITY = "lastActivity";
+    private static final String ARCHIVE_SHA256 = "archiveSha256";
+    private static final String ALL_LANGUAGES = "allLanguages";
+    private static final String LANGUAGE_TAG = "language";
+    private static final String LANGUAGE_ID = "id";
+    private static final String LANGUAGE_PROGRESS = "progress";
+
+    private final Map<String, BuildRecord> builds = new ConcurrentHashMap<>();
+
+    public static TranslationBuildsState getInstance(@NotNull Project project) {
+        return ServiceManager.getService(project, TranslationBuildsState.class);
+    }
+
+    public static String key(Long projectId, Long branchId) {
+        return projectId + ":" + ((branchId != null) ? branchId : "");
+    }
+
+    @Nullable
+    public BuildRecord get(String key) {
+        return builds.get(key);
+    }
+
+    public void put(String key, BuildRecord record) {
+        builds.put(key, record);
+    }
+
+    public void remove(String key) {
+        builds.remove(key);
+    }
+
+    @Nullable
+    @Override
+    public Element getState() {
+        Element element = new Element(BUILDS_TAG);
+        builds.forEach((key, record) -> {
+            Element build = new Element(BUILD_TAG);
+            build.setAttribute(KEY, key);
+            build.setAttribute(BUILD_ID, Long.toString(record.getBuildId()));
+            build.setAttribute(LAST_ACTIVITY, Long.toString(record.getLastActivity()));
+            if (record.getArchiveSha256() != null) {
+                build.setAttribute(ARCHIVE_SHA256, record.getArchiveSha256());
+            }
+            build.setAttribute(ALL_LANGUAGES, Boolean.toString(record.isAllLanguages()));
+            record.getLanguageProgress().forEach((languageId, progress) -> {
+                Element language = new Element(LANGUAGE_TAG);
+                language.setAttribute(LANGUAGE_ID, languageId);
+                language.setAttribute(LANGUAGE_PROGRESS, progress);
+                build.addContent(language);
+            });
+            element.addContent(build);
+        });
+        return element;
+    }
+
+    @Override
+    public void loadState(@NotNull Element state) {
+        builds.clear();
+        for (Element build : state.getChildren(BUILD_TAG)) {
+            try {
+                Map<String, String> languageProgress = new TreeMap<>();
+                for (Element language : build.getChildren(LANGUAGE_TAG)) {
+                    languageProgress.put(language.getAttributeValue(LANGUAGE_ID), language.getAttributeValue(LANGUAGE_PROGRESS));
+                }
+                builds.put(build.getAttributeValue(KEY), new BuildRecord(
+                    Long.parseLong(build.getAttributeValue(BUILD_ID)),
+                    Long.parseLong(build.getAttributeValue(LAST_ACTIVITY)),
+                    build.getAttributeValue(ARCHIVE_SHA256),
+                    !"false".equals(build.getAttributeValue(ALL_LANGUAGES)),
+                    languageProgress));
+            } catch (RuntimeException e) {
+                // broken record only means that the next download will start a new build
+            }
+        }
+    }
+
+    @Data
+    public static class BuildRecord {
+        private final long buildId;
+        /**
+         * Project's last activity (epoch millis) observed right before the build was started
+         */
+        private final long lastActivity;
+        private final String archiveSha256;
+        /**
+         * Whether it is a single build of all target languages, only such builds are reused.
+         * Builds of changed languages only and builds split by languages are not
+         */
+        private final boolean allLanguages;
+        /**
+         * Progress of every target language by its id, as returned by project progress, observed before the build
+         */
+        private final Map<String, String> languageProgress;
+
+        /**
+         * @return ids of languages whose progress differs from the remembered one, including languages that weren't known before
+         */
+        public List<String> changedLanguages(Map<String, String> currentProgress) {
+            return currentProgress.entrySet().stream()
+                .filter(progress -> !Objects.equals(progress.getValue(), languageProgress.get(progress.getKey())))
+                .map(Map.Entry::getKey)
+                .sorted()
+                .collect(Collectors.toList());
+        }
+    }
+}
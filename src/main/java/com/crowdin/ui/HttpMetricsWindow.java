@@ -0,0 +1,66 @@
+package com.crowdin.ui;
+
+import com.crowdin.client.CrowdinMetrics;
+import com.intellij.openapi.util.text.StringUtil;
+import com.intellij.ui.ScrollPaneFactory;
+import com.intellij.ui.table.JBTable;
+
+import javax.swing.*;
+import javax.swing.table.DefaultTableModel;
+import java.awt.*;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+public class HttpMetricsWindow {
+
+    private static final String[] COLUMNS = {
+        "Endpoint", "Calls", "Total, ms", "Avg, ms", "Max, ms", "Latency histogram", "Sent", "Received", "Retries", "Errors"
+    };
+
+    private final JPanel panel;
+    private final DefaultTableModel model;
+
+    public HttpMetricsWindow() {
+        model = new DefaultTableModel(COLUMNS, 0) {
+            @Override
+            public boolean isCellEditable(int row, int column) {
+                return false;
+            }
+        };
+        JBTable table = new JBTable(model);
+        table.setAutoCreateRowSorter(true);
+        panel = new JPanel(new BorderLayout());
+        panel.add(ScrollPaneFactory.createScrollPane(table), BorderLayout.CENTER);
+    }
+
+    public JPanel getContent() {
+        return panel;
+    }
+
+    public void setData(List<CrowdinMetrics.EndpointSnapshot> snapshot) {
+        model.setRowCount(0);
+        for (CrowdinMetrics.EndpointSnapshot endpoint : snapshot) {
+            model.addRow(new Object[] {
+                endpoint.getEndpoint(),
+                endpoint.getCalls(),
+                endpoint.getTotalMillis(),
+                endpoint.getAverageMillis(),
+                endpoint.getMaxMillis(),
+                joinNonZero(endpoint.getLatencyHistogram()),
+                StringUtil.formatFileSize(endpoint.getBytesSent()),
+                StringUtil.formatFileSize(endpoint.getBytesReceived()),
+                endpoint.getRetries(),
+                joinNonZero(endpoint.getErrors())
+            });
+        }
+    }
+
+    private static String joinNonZero(Map<String, Long> counts) {
+        return counts.entrySet()
+            .stream()
+            .filter(entry -> entry.getValue() > 0)
+            .map(entry -> entry.getKey() + ": " + entry.getValue())
+            .collect(Collectors.joining(", "));
+    }
+}
@@ -44,6 +44,15 @@ public class TranslationProgressWindowFactory implements ToolWindowFactory, Dumb
         ActionToolbar toolbar = actionManager.createActionToolbar(ActionPlaces.TOOLBAR, group, true);
         panel.setToolbar(toolbar.getComponent());
 
+        SimpleToolWindowPanel metricsPanel = new SimpleToolWindowPanel(true, true);
+        HttpMetricsWindow httpMetricsWindow = new HttpMetricsWindow();
+        projectService.setHttpMetricsWindow(httpMetricsWindow);
+        metricsPanel.setContent(httpMetricsWindow.getContent());
+        ActionToolbar metricsToolbar = actionManager.createActionToolbar(
+            ActionPlaces.TOOLBAR, (ActionGroup) actionManager.getAction("Crowdin.HttpMetricsToolbar"), true);
+        metricsPanel.setToolbar(metricsToolbar.getComponent());
+        toolWindow.getContentManager().addContent(contentFactory.createContent(metricsPanel, "HTTP Metrics", false));
+
         DataContext dataContext = DataManager.getInstance().getDataContext(content.getComponent());
         if (dataContext.getData(CommonDataKeys.PROJECT) != null) {
             AnAction refreshAction = actionManager.getAction("Crowdin.RefreshTranslationProgressAction");
@@ -57,6 +66,7 @@ public class TranslationProgressWindowFactory implements ToolWindowFactory, Dumb
     public static class ProjectService {
 
         private TranslationProgressWindow translationProgressWindow;
+        private HttpMetricsWindow httpMetricsWindow;
 
         public void setTranslationProgressWindow(TranslationProgressWindow translationProgressWindow) {
             this.translationProgressWindow = translationProgressWindow;
@@ -65,6 +75,14 @@ public class TranslationProgressWindowFactory implements ToolWindowFactory, Dumb
         public TranslationProgressWindow getTranslationProgressWindow() {
             return translationProgressWindow;
         }
+
+        public void setHttpMetricsWindow(HttpMetricsWindow httpMetricsWindow) {
+            this.httpMetricsWindow = httpMetricsWindow;
+        }
+
+        public HttpMetricsWindow getHttpMetricsWindow() {
+            return httpMetricsWindow;
+        }
     }
 
 }
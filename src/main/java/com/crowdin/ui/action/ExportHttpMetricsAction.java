@@ -0,0 +1,31 @@
+package com.crowdin.ui.action;
+
+import com.crowdin.client.CrowdinClientService;
+import com.crowdin.util.NotificationUtil;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.ide.CopyPasteManager;
+import com.intellij.openapi.project.DumbAware;
+import org.jetbrains.annotations.NotNull;
+
+import java.awt.datatransfer.StringSelection;
+
+import static com.crowdin.Constants.MESSAGES_BUNDLE;
+
+public class ExportHttpMetricsAction extends AnAction implements DumbAware {
+
+    public ExportHttpMetricsAction() {
+        super("Copy metrics as JSON", "Copy HTTP metrics to the clipboard as JSON", AllIcons.Actions.Copy);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        if (e.getProject() == null) {
+            return;
+        }
+        String json = CrowdinClientService.getInstance(e.getProject()).getMetrics().toJson();
+        CopyPasteManager.getInstance().setContents(new StringSelection(json));
+        NotificationUtil.showInformationMessage(e.getProject(), MESSAGES_BUNDLE.getString("messages.success.metrics_copied"));
+    }
+}
@@ -0,0 +1,35 @@
+package com.crowdin.ui.action;
+
+import com.crowdin.client.CrowdinClientService;
+import com.crowdin.ui.HttpMetricsWindow;
+import com.crowdin.ui.TranslationProgressWindowFactory;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.components.ServiceManager;
+import com.intellij.openapi.project.DumbAware;
+import com.intellij.openapi.project.Project;
+import org.jetbrains.annotations.NotNull;
+
+public class RefreshHttpMetricsAction extends AnAction implements DumbAware {
+
+    public RefreshHttpMetricsAction() {
+        super("Refresh metrics", "Show current HTTP metrics", AllIcons.Actions.Refresh);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        refresh(e.getProject());
+    }
+
+    static void refresh(Project project) {
+        if (project == null) {
+            return;
+        }
+        HttpMetricsWindow window = ServiceManager.getService(project, TranslationProgressWindowFactory.ProjectService.class)
+            .getHttpMetricsWindow();
+        if (window != null) {
+            window.setData(CrowdinClientService.getInstance(project).getMetrics().snapshot());
+        }
+    }
+}
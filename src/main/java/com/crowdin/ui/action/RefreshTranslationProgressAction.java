@@ -1,7 +1,10 @@
 package com.crowdin.ui.action;
 
 import com.crowdin.action.BackgroundAction;
+import com.crowdin.client.CacheComponent;
 import com.crowdin.client.Crowdin;
+import com.crowdin.client.CrowdinAsync;
+import com.crowdin.client.CrowdinClientService;
 import com.crowdin.client.CrowdinProjectCacheProvider;
 import com.crowdin.client.CrowdinProperties;
 import com.crowdin.client.CrowdinPropertiesLoader;
@@ -29,8 +32,10 @@ import lombok.NonNull;
 import org.apache.commons.lang.StringUtils;
 import org.jetbrains.annotations.NotNull;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -71,7 +76,7 @@ public class RefreshTranslationProgressAction extends BackgroundAction {
             VirtualFile root = FileUtil.getProjectBaseDir(project);
 
             CrowdinProperties properties = CrowdinPropertiesLoader.load(project);
-            Crowdin crowdin = new Crowdin(project, properties.getProjectId(), properties.getApiToken(), properties.getBaseUrl());
+            Crowdin crowdin = CrowdinClientService.getClient(project, properties);
 
             NotificationUtil.setLogDebugLevel(properties.isDebug());
             NotificationUtil.logDebugMessage(project, MESSAGES_BUNDLE.getString("messages.debug.started_action"));
@@ -79,12 +84,17 @@ public class RefreshTranslationProgressAction extends BackgroundAction {
             String branchName = ActionUtils.getBranchName(project, properties, true);
 
             CrowdinProjectCacheProvider.CrowdinProjectCache crowdinProjectCache =
-                CrowdinProjectCacheProvider.getInstance(crowdin, branchName, true);
+                CrowdinProjectCacheProvider.getInstance(project).getCache(crowdin, branchName, indicator, CacheComponent.FILES);
             Branch branch = crowdinProjectCache.getBranches().get(branchName);
 
-            Map<LanguageProgress, List<FileProgress>> progress = crowdin.getProjectProgress()
-                .parallelStream()
-                .collect(Collectors.toMap(Function.identity(), langProgress -> crowdin.getLanguageProgress(langProgress.getLanguageId())));
+            CrowdinAsync crowdinAsync = new CrowdinAsync(crowdin);
+            Map<LanguageProgress, CompletableFuture<List<FileProgress>>> progressRequests = crowdin.getProjectProgress()
+                .stream()
+                .collect(Collectors.toMap(Function.identity(), langProgress -> crowdinAsync.getLanguageProgress(langProgress.getLanguageId())));
+            CrowdinAsync.await(CrowdinAsync.allOf(new ArrayList<>(progressRequests.values())), indicator);
+            Map<LanguageProgress, List<FileProgress>> progress = progressRequests.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().join()));
 
 
             List<String> crowdinFilePaths = properties.getFiles().stream()
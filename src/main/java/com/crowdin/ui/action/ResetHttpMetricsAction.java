@@ -0,0 +1,24 @@
+package com.crowdin.ui.action;
+
+import com.crowdin.client.CrowdinClientService;
+import com.intellij.icons.AllIcons;
+import com.intellij.openapi.actionSystem.AnAction;
+import com.intellij.openapi.actionSystem.AnActionEvent;
+import com.intellij.openapi.project.DumbAware;
+import org.jetbrains.annotations.NotNull;
+
+public class ResetHttpMetricsAction extends AnAction implements DumbAware {
+
+    public ResetHttpMetricsAction() {
+        super("Reset metrics", "Reset HTTP metrics", AllIcons.Actions.GC);
+    }
+
+    @Override
+    public void actionPerformed(@NotNull AnActionEvent e) {
+        if (e.getProject() == null) {
+            return;
+        }
+        CrowdinClientService.getInstance(e.getProject()).getMetrics().reset();
+        RefreshHttpMetricsAction.refresh(e.getProject());
+    }
+}
@@ -1,24 +1,36 @@
 package com.crowdin.util;
 
 import com.intellij.openapi.application.WriteAction;
+import com.intellij.openapi.fileEditor.FileDocumentManager;
 import com.intellij.openapi.project.Project;
 import com.intellij.openapi.util.io.FileUtilRt;
 import com.intellij.openapi.vfs.LocalFileSystem;
+import com.intellij.openapi.vfs.VfsUtilCore;
 import com.intellij.openapi.vfs.VirtualFile;
+import com.intellij.util.ThrowableConsumer;
 import lombok.NonNull;
 import org.apache.commons.lang.RandomStringUtils;
 import org.apache.commons.lang.StringUtils;
 import org.apache.commons.lang.SystemUtils;
 
+import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
-import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.FileSystems;
 import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -26,13 +38,13 @@ import java.util.function.Predicate;
 import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
-import static com.crowdin.Constants.MESSAGES_BUNDLE;
-
 public final class FileUtil {
 
     public static final String PATH_SEPARATOR = FileSystems.getDefault().getSeparator();
     public static final String PATH_SEPARATOR_REGEX = "\\".equals(PATH_SEPARATOR) ? "\\\\" : PATH_SEPARATOR;
 
+    private static final int COMPARE_BUFFER_SIZE = 64 * 1024;
+
     private FileUtil() {
         throw new UnsupportedOperationException();
     }
@@ -130,29 +142,181 @@ public final class FileUtil {
         }
     }
 
-    public static void downloadFile(Object requestor, VirtualFile file, URL url) {
-        try (InputStream data = url.openStream()) {
-            FileUtil.downloadFile(requestor, file, data);
-        } catch (IOException e) {
-            throw new RuntimeException(String.format(MESSAGES_BUNDLE.getString("errors.download_file"), file.getPath(), e.getMessage()), e);
+    /**
+     * Writes downloaded data into the file. The data is saved to a temporary copy first, so that the network isn't read inside the write action.
+     * Unsaved changes are checked in the same write action that writes the file, so that an editor save can't come in between:
+     * a local file without unsaved changes is replaced on the disk directly and then refreshed, other files are written through the VFS
+     */
+    public static void downloadFile(Object requestor, VirtualFile file, InputStream data) throws IOException {
+        File tempFile = downloadTempFile(data);
+        try {
+            WriteAction.runAndWait(() -> {
+                if (file.isInLocalFileSystem() && !FileDocumentManager.getInstance().isFileModified(file)) {
+                    try (InputStream tempInput = new FileInputStream(tempFile)) {
+                        writeAtomically(tempInput, VfsUtilCore.virtualToIoFile(file));
+                    }
+                    file.refresh(false, false);
+                    return;
+                }
+                try (OutputStream fileOutput = file.getOutputStream(requestor)) {
+                    java.nio.file.Files.copy(tempFile.toPath(), fileOutput);
+                }
+            });
+        } finally {
+            tempFile.delete();
         }
     }
 
-    public static void downloadFile(Object requestor, VirtualFile file, InputStream data) throws IOException {
-        File tempFile = downloadTempFile(data);
+    public static String sha256(File file) throws IOException {
+        MessageDigest digest = sha256Digest();
+        try (InputStream input = new DigestInputStream(new FileInputStream(file), digest)) {
+            byte[] buffer = new byte[8192];
+            while (input.read(buffer) != -1) {
+            }
+        }
+        return toHex(digest.digest());
+    }
 
-        WriteAction.runAndWait(() -> {
-            try (InputStream tempFileInput = new FileInputStream(tempFile); OutputStream fileOutput = file.getOutputStream(requestor)) {
-                FileUtilRt.copy(tempFileInput, fileOutput);
+    public static MessageDigest sha256Digest() {
+        try {
+            return MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public static String toHex(byte[] bytes) {
+        StringBuilder hex = new StringBuilder();
+        for (byte b : bytes) {
+            hex.append(String.format("%02x", b));
+        }
+        return hex.toString();
+    }
+
+    /**
+     * Writes data next to the target file first and then moves it in place,
+     * so that an interrupted download never leaves a half-written target
+     */
+    public static void writeAtomically(InputStream data, File target) throws IOException {
+        replaceAtomically(target, temp -> java.nio.file.Files.copy(data, temp, StandardCopyOption.REPLACE_EXISTING));
+    }
+
+    /**
+     * Replaces the target only if the data differs from its current content, so that unchanged files keep their timestamps.
+     * Sizes are compared first, then the content is compared while reading, and the file is written only from the first mismatch on
+     * (the matching prefix is transferred from the file itself, channel to channel).
+     *
+     * @param size expected size of the data, or -1 if unknown
+     * @return true if the target was written, false if it already had the same content
+     */
+    public static boolean writeIfChanged(InputStream data, long size, File target) throws IOException {
+        if (!target.isFile() || (size >= 0 && size != target.length())) {
+            writeAtomically(data, target);
+            return true;
+        }
+        byte[] incoming = new byte[COMPARE_BUFFER_SIZE];
+        byte[] existing = new byte[COMPARE_BUFFER_SIZE];
+        long matched = 0;
+        try (InputStream existingInput = new FileInputStream(target)) {
+            while (true) {
+                int incomingRead = readFully(data, incoming);
+                int existingRead = readFully(existingInput, existing);
+                if (!equalPrefixes(incoming, incomingRead, existing, existingRead)) {
+                    long prefix = matched;
+                    replaceAtomically(target, temp -> {
+                        try (FileChannel prefixInput = FileChannel.open(target.toPath(), StandardOpenOption.READ);
+                             FileChannel output = FileChannel.open(temp, StandardOpenOption.WRITE)) {
+                            transferFully(prefixInput, output, prefix);
+                            ByteBuffer mismatch = ByteBuffer.wrap(incoming, 0, incomingRead);
+                            while (mismatch.hasRemaining()) {
+                                output.write(mismatch);
+                            }
+                            output.transferFrom(Channels.newChannel(data), output.position(), Long.MAX_VALUE);
+                        }
+                    });
+                    return true;
+                }
+                if (incomingRead < COMPARE_BUFFER_SIZE) {
+                    return false;
+                }
+                matched += incomingRead;
             }
-        });
+        }
+    }
+
+    /**
+     * The temporary file is created with default permissions (those of a new file under the current umask),
+     * and takes over permissions of the existing target, so that replacing a file doesn't change its mode.
+     *
+     * @param writer fills the temporary file created in the target's directory, so that moving it in place is a rename
+     */
+    private static void replaceAtomically(File target, ThrowableConsumer<Path, IOException> writer) throws IOException {
+        Path parent = target.getAbsoluteFile().getParentFile().toPath();
+        java.nio.file.Files.createDirectories(parent);
+        Path temp = java.nio.file.Files.createFile(
+            parent.resolve(target.getName() + "." + RandomStringUtils.randomAlphanumeric(9) + ".crowdin.tmp"));
+        try {
+            copyPermissions(target.toPath(), temp);
+            writer.consume(temp);
+            try {
+                java.nio.file.Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                java.nio.file.Files.move(temp, target.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            java.nio.file.Files.deleteIfExists(temp);
+        }
+    }
+
+    private static void copyPermissions(Path source, Path target) throws IOException {
+        if (!java.nio.file.Files.exists(source)) {
+            return;
+        }
+        PosixFileAttributeView sourceView = java.nio.file.Files.getFileAttributeView(source, PosixFileAttributeView.class);
+        PosixFileAttributeView targetView = java.nio.file.Files.getFileAttributeView(target, PosixFileAttributeView.class);
+        if (sourceView != null && targetView != null) {
+            targetView.setPermissions(sourceView.readAttributes().permissions());
+        }
+    }
+
+    private static int readFully(InputStream input, byte[] buffer) throws IOException {
+        int total = 0;
+        while (total < buffer.length) {
+            int read = input.read(buffer, total, buffer.length - total);
+            if (read == -1) {
+                break;
+            }
+            total += read;
+        }
+        return total;
+    }
+
+    private static boolean equalPrefixes(byte[] first, int firstLength, byte[] second, int secondLength) {
+        if (firstLength != secondLength) {
+            return false;
+        }
+        for (int i = 0; i < firstLength; i++) {
+            if (first[i] != second[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static void transferFully(FileChannel input, FileChannel output, long count) throws IOException {
+        long position = 0;
+        while (position < count) {
+            long transferred = input.transferTo(position, count - position, output);
+            if (transferred <= 0 && position >= input.size()) {
+                throw new EOFException("File is shorter than expected");
+            }
+            position += transferred;
+        }
     }
 
     public static File downloadTempFile(InputStream data) throws IOException {
         File tempFile = FileUtilRt.createTempFile(RandomStringUtils.randomAlphanumeric(9), ".crowdin.tmp", true);
-        try (OutputStream tempFileOutput = new FileOutputStream(tempFile)) {
-            FileUtilRt.copy(data, tempFileOutput);
-        }
+        java.nio.file.Files.copy(data, tempFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
         return tempFile;
     }
 
@@ -0,0 +1,142 @@
+package com.crowdin.util;
+
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.function.BiFunction;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+public final class PaginationUtil {
+
+    private PaginationUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Lazily downloads pages of a list endpoint. The first page is requested alone, and if it comes back full
+     * the next {@code prefetch} offsets are requested at the same time on {@code executor}.
+     * Models are handed out in order of their offsets, fetching stops at the first page shorter than {@code limit}.
+     * Pages are pulled only while the stream is consumed (plus {@code prefetch} pages of look-ahead)
+     * and every page is released once its models are handed out.
+     * Look-ahead requests that haven't started yet are skipped after the last page, on failure, or when the stream is closed,
+     * requests already running are not interrupted. Callers that may stop early should close the stream.
+     *
+     * @param request represents function that downloads list of models and has two args (limit, offset)
+     * @param limit page size
+     * @param prefetch max number of pages requested ahead of the consumer
+     * @param executor executor to request pages on
+     * @param <T> represents model
+     * @return ordered stream of models
+     */
+    public static <T> Stream<T> stream(BiFunction<Integer, Integer, List<T>> request, int limit, int prefetch, Executor executor) {
+        PageIterator<T> iterator = new PageIterator<>(request, limit, Math.max(prefetch, 1), executor);
+        return StreamSupport.stream(Spliterators.spliteratorUnknownSize(iterator, Spliterator.ORDERED), false)
+            .onClose(iterator::close);
+    }
+
+    private static class PageIterator<T> implements Iterator<T> {
+
+        private final BiFunction<Integer, Integer, List<T>> request;
+        private final int limit;
+        private final int prefetch;
+        private final Executor executor;
+
+        private final Deque<CompletableFuture<List<T>>> window = new ArrayDeque<>();
+        private Iterator<T> currentPage = Collections.emptyIterator();
+        private int fetchedPages = 0;
+        private int nextOffset;
+        private boolean lastPage = false;
+        private volatile boolean closed = false;
+
+        PageIterator(BiFunction<Integer, Integer, List<T>> request, int limit, int prefetch, Executor executor) {
+            this.request = request;
+            this.limit = limit;
+            this.prefetch = prefetch;
+            this.executor = executor;
+            this.nextOffset = limit;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPage.hasNext()) {
+                if (lastPage) {
+                    return false;
+                }
+                loadNextPage();
+            }
+            return true;
+        }
+
+        @Override
+        public T next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            return currentPage.next();
+        }
+
+        private void loadNextPage() {
+            List<T> page;
+            try {
+                page = (fetchedPages == 0) ? request.apply(limit, 0) : join(window.poll());
+            } catch (RuntimeException e) {
+                lastPage = true;
+                close();
+                throw e;
+            }
+            fetchedPages++;
+            if (page.size() < limit) {
+                lastPage = true;
+                close();
+            } else {
+                int toRequest = (fetchedPages == 1) ? prefetch : 1;
+                for (int i = 0; i < toRequest; i++) {
+                    int offset = nextOffset;
+                    window.add(CompletableFuture.supplyAsync(() -> {
+                        if (closed) {
+                            throw new CancellationException();
+                        }
+                        return request.apply(limit, offset);
+                    }, executor));
+                    nextOffset += limit;
+                }
+            }
+            currentPage = page.iterator();
+        }
+
+        /**
+         * Stops the iteration. {@link CompletableFuture#cancel} doesn't interrupt a running page request,
+         * so look-ahead tasks check the flag themselves before requesting their page
+         */
+        private void close() {
+            closed = true;
+            lastPage = true;
+            currentPage = Collections.emptyIterator();
+            window.forEach(future -> future.cancel(false));
+            window.clear();
+        }
+    }
+
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw e;
+        } catch (CancellationException e) {
+            throw new RuntimeException("Page request was cancelled", e);
+        }
+    }
+}
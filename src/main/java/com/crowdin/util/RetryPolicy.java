@@ -0,0 +1,46 @@
+package com.crowdin.util;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Predicate;
+
+/**
+ * Describes how a request is retried: number of attempts, exponential backoff with full jitter between them
+ * and which errors are worth another attempt
+ */
+public final class RetryPolicy {
+
+    public static final RetryPolicy NO_RETRY = new RetryPolicy(1, 0, 0, e -> false);
+
+    private final int maxAttempts;
+    private final long baseDelayMillis;
+    private final long maxDelayMillis;
+    private final Predicate<RuntimeException> retryOn;
+
+    public RetryPolicy(int maxAttempts, long baseDelayMillis, long maxDelayMillis, Predicate<RuntimeException> retryOn) {
+        this.maxAttempts = maxAttempts;
+        this.baseDelayMillis = baseDelayMillis;
+        this.maxDelayMillis = maxDelayMillis;
+        this.retryOn = retryOn;
+    }
+
+    public int getMaxAttempts() {
+        return maxAttempts;
+    }
+
+    public boolean shouldRetry(RuntimeException e, int attempt) {
+        return attempt < maxAttempts && retryOn.test(e);
+    }
+
+    /**
+     * @param attempt number of the failed attempt, starting from 1
+     * @return random delay between 0 and exponentially growing cap
+     */
+    public long delayMillis(int attempt) {
+        return delayMillis(attempt, ThreadLocalRandom.current().nextDouble());
+    }
+
+    long delayMillis(int attempt, double random) {
+        long cap = baseDelayMillis << Math.min(attempt - 1, 20);
+        return (long) (Math.min(cap, maxDelayMillis) * random);
+    }
+}
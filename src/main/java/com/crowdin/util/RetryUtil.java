@@ -1,30 +1,35 @@
 package com.crowdin.util;
 
-import java.util.concurrent.Callable;
+import java.util.function.Supplier;
 
 public final class RetryUtil {
 
-    private static final Integer DEFAULT_RETRIES = 3;
-
     private RetryUtil() {
         throw new UnsupportedOperationException();
     }
 
-    public static <T> T retry(Callable<T> func) throws Exception {
-        return retry(func, DEFAULT_RETRIES);
-    }
-
-    public static <T> T retry(Callable<T> func, int retries) throws Exception {
-        for (int i = 0; i < retries; i++) {
+    public static <T> T retry(Supplier<T> func, RetryPolicy policy) {
+        for (int attempt = 1; ; attempt++) {
             try {
-                return func.call();
-            } catch (Exception e) {
-                if (i + i == retries) {
+                return func.get();
+            } catch (RuntimeException e) {
+                if (!policy.shouldRetry(e, attempt)) {
                     throw e;
                 }
-                Thread.sleep(100);
+                sleep(policy.delayMillis(attempt));
             }
         }
-        return null;
+    }
+
+    private static void sleep(long millis) {
+        if (millis <= 0) {
+            return;
+        }
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while waiting to retry the request", e);
+        }
     }
 }
@@ -0,0 +1,113 @@
+package com.crowdin.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+import java.util.zip.ZipInputStream;
+
+public final class ZipUtil {
+
+    private ZipUtil() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * Normalizes path of an archive entry to the form used as a key in targets: unix separators, no separator at start
+     */
+    public static String entryKey(String path) {
+        return FileUtil.unixPath(FileUtil.noSepAtStart(path));
+    }
+
+    /**
+     * Reads the archive entry by entry straight from the stream and writes only the entries that have targets.
+     * Nothing else is written to the disk, entries without targets are skipped without being inflated to files.
+     *
+     * @param archive zip archive stream, it is not closed
+     * @param targets target files by archive paths in the form of {@link #entryKey(String)}
+     * @param writer writes content of the entry into the target file
+     * @return paths of all files in the archive, in the form of {@link #entryKey(String)}
+     */
+    public static List<String> extractSelected(InputStream archive, Map<String, File> targets, EntryWriter writer) throws IOException {
+        List<String> entries = new ArrayList<>();
+        ZipInputStream zip = new ZipInputStream(archive);
+        for (ZipEntry entry = zip.getNextEntry(); entry != null; entry = zip.getNextEntry()) {
+            if (entry.isDirectory()) {
+                continue;
+            }
+            String key = entryKey(entry.getName());
+            entries.add(key);
+            File target = targets.get(key);
+            if (target != null) {
+                writer.write(zip, entry.getSize(), target);
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Looks up entries that have targets in the central directory of the archive and extracts them in parallel.
+     * Entries without targets are never inflated.
+     *
+     * @param archive zip archive on the disk
+     * @param targets target files by archive paths in the form of {@link #entryKey(String)}
+     * @param writer writes content of the entry into the target file, called concurrently for different targets
+     * @param executor executor to extract entries on, its parallelism limits the number of entries extracted at the same time
+     * @return paths of all files in the archive, in the form of {@link #entryKey(String)}
+     */
+    public static List<String> extractSelected(File archive, Map<String, File> targets, EntryWriter writer, Executor executor) throws IOException {
+        try (ZipFile zip = new ZipFile(archive)) {
+            List<String> entries = new ArrayList<>();
+            List<CompletableFuture<Void>> tasks = new ArrayList<>();
+            for (Enumeration<? extends ZipEntry> zipEntries = zip.entries(); zipEntries.hasMoreElements(); ) {
+                ZipEntry entry = zipEntries.nextElement();
+                if (entry.isDirectory()) {
+                    continue;
+                }
+                String key = entryKey(entry.getName());
+                entries.add(key);
+                File target = targets.get(key);
+                if (target != null) {
+                    tasks.add(CompletableFuture.runAsync(() -> {
+                        try (InputStream content = zip.getInputStream(entry)) {
+                            writer.write(content, entry.getSize(), target);
+                        } catch (IOException e) {
+                            throw new UncheckedIOException(e);
+                        }
+                    }, executor));
+                }
+            }
+            try {
+                CompletableFuture.allOf(tasks.toArray(new CompletableFuture[0])).join();
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof UncheckedIOException) {
+                    throw ((UncheckedIOException) e.getCause()).getCause();
+                } else if (e.getCause() instanceof RuntimeException) {
+                    throw (RuntimeException) e.getCause();
+                }
+                throw e;
+            }
+            return entries;
+        }
+    }
+
+    @FunctionalInterface
+    public interface EntryWriter {
+
+        /**
+         * @param content content of the current entry, must not be closed
+         * @param size uncompressed size of the entry, or -1 if unknown
+         * @param target file to write the content to
+         */
+        void write(InputStream content, long size, File target) throws IOException;
+    }
+}
@@ -0,0 +1,82 @@
+package com.crowdin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.crowdin.Constants.MESSAGES_BUNDLE;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class CircuitBreakerTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testOpensAfterConsecutiveFailures() {
+        CircuitBreaker breaker = new CircuitBreaker(3, 10_000, new AtomicLong(0)::get);
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertFalse(breaker.isOpen());
+        breaker.acquire();
+
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        assertRejected(breaker, String.format(MESSAGES_BUNDLE.getString("errors.server_unavailable"), 10));
+    }
+
+    @Test
+    public void testTrialSuccessCloses() {
+        AtomicLong clock = new AtomicLong(0);
+        CircuitBreaker breaker = openBreaker(clock);
+
+        clock.addAndGet(9 * SECOND + 1);
+        assertRejected(breaker, MESSAGES_BUNDLE.getString("errors.server_unavailable_one_second"));
+
+        clock.addAndGet(SECOND);
+        breaker.acquire();
+        assertRejected(breaker, MESSAGES_BUNDLE.getString("errors.server_unavailable_trial"));
+
+        breaker.onSuccess();
+        assertFalse(breaker.isOpen());
+        breaker.acquire();
+    }
+
+    @Test
+    public void testTrialFailureOpensAgain() {
+        AtomicLong clock = new AtomicLong(0);
+        CircuitBreaker breaker = openBreaker(clock);
+
+        clock.addAndGet(10 * SECOND);
+        breaker.acquire();
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        assertRejected(breaker, String.format(MESSAGES_BUNDLE.getString("errors.server_unavailable"), 10));
+
+        clock.addAndGet(10 * SECOND);
+        breaker.acquire();
+    }
+
+    private static CircuitBreaker openBreaker(AtomicLong clock) {
+        CircuitBreaker breaker = new CircuitBreaker(2, 10_000, clock::get);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertTrue(breaker.isOpen());
+        return breaker;
+    }
+
+    private static void assertRejected(CircuitBreaker breaker, String message) {
+        try {
+            breaker.acquire();
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals(message, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,44 @@
+package com.crowdin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+
+public class ConditionalCacheTest {
+
+    @Test
+    public void testReuseWhileValidatorIsSame() {
+        ConditionalCache cache = new ConditionalCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        assertEquals(1, (int) cache.get("listBranches", "v1", loads::incrementAndGet));
+        assertEquals(1, (int) cache.get("listBranches", "v1", loads::incrementAndGet));
+        assertEquals(2, (int) cache.get("listBranches", "v2", loads::incrementAndGet));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    public void testNoValidator() {
+        ConditionalCache cache = new ConditionalCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("listBranches", "v1", loads::incrementAndGet);
+        cache.get("listBranches", null, loads::incrementAndGet);
+        cache.get("listBranches", "v1", loads::incrementAndGet);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    public void testInvalidate() {
+        ConditionalCache cache = new ConditionalCache();
+        AtomicInteger loads = new AtomicInteger();
+
+        cache.get("listFiles:1", "v1", loads::incrementAndGet);
+        cache.get("listFiles:2", "v1", loads::incrementAndGet);
+        cache.invalidate();
+        cache.get("listFiles:1", "v1", loads::incrementAndGet);
+        assertEquals(3, loads.get());
+    }
+}
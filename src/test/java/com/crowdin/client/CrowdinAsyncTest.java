@@ -0,0 +1,75 @@
+package com.crowdin.client;
+
+import com.crowdin.client.projectsgroups.model.Project;
+import com.intellij.openapi.progress.ProcessCanceledException;
+import com.intellij.openapi.progress.ProgressIndicator;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class CrowdinAsyncTest {
+
+    @Test
+    public void testCallRunsInBackground() {
+        Crowdin crowdin = mock(Crowdin.class);
+        Project project = new Project();
+        when(crowdin.getProject()).thenReturn(project);
+        Thread caller = Thread.currentThread();
+
+        CompletableFuture<Thread> thread = new CrowdinAsync(crowdin).call(client -> Thread.currentThread());
+        assertNotEquals(caller, CrowdinAsync.await(thread, null));
+        assertSame(project, CrowdinAsync.await(new CrowdinAsync(crowdin).getProject(), null));
+    }
+
+    @Test
+    public void testAllOfKeepsOrder() {
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<Integer> second = new CompletableFuture<>();
+        CompletableFuture<List<Integer>> all = CrowdinAsync.allOf(Arrays.asList(first, second));
+
+        second.complete(2);
+        first.complete(1);
+        assertEquals(Arrays.asList(1, 2), CrowdinAsync.await(all, null));
+    }
+
+    @Test
+    public void testAllOfFailsWithFirstErrorAndCancelsRest() {
+        CompletableFuture<Integer> first = new CompletableFuture<>();
+        CompletableFuture<Integer> second = new CompletableFuture<>();
+        CompletableFuture<List<Integer>> all = CrowdinAsync.allOf(Arrays.asList(first, second));
+
+        first.completeExceptionally(new IllegalStateException("first failed"));
+        assertTrue(second.isCancelled());
+        try {
+            CrowdinAsync.await(all, null);
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("first failed", e.getMessage());
+        }
+    }
+
+    @Test
+    public void testAwaitCancelsFutureWhenIndicatorIsCancelled() {
+        ProgressIndicator indicator = mock(ProgressIndicator.class);
+        doThrow(new ProcessCanceledException()).when(indicator).checkCanceled();
+        CompletableFuture<Integer> future = new CompletableFuture<>();
+
+        try {
+            CrowdinAsync.await(future, indicator);
+            fail();
+        } catch (ProcessCanceledException e) {
+            assertTrue(future.isCancelled());
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package com.crowdin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class CrowdinMetricsTest {
+
+    @Test
+    public void testBucket() {
+        assertEquals(0, CrowdinMetrics.bucket(0));
+        assertEquals(0, CrowdinMetrics.bucket(50));
+        assertEquals(1, CrowdinMetrics.bucket(51));
+        assertEquals(CrowdinMetrics.LATENCY_BUCKETS_MILLIS.length, CrowdinMetrics.bucket(60_000));
+    }
+
+    @Test
+    public void testRecordCall() {
+        CrowdinMetrics metrics = new CrowdinMetrics();
+        metrics.recordCall("listFiles", 40, null);
+        metrics.recordCall("listFiles", 300, "500");
+        metrics.recordRetry("listFiles");
+        metrics.recordCall("getProject", 10, null);
+
+        List<CrowdinMetrics.EndpointSnapshot> snapshot = metrics.snapshot();
+        assertEquals(2, snapshot.size());
+        CrowdinMetrics.EndpointSnapshot listFiles = snapshot.get(0);
+        assertEquals("listFiles", listFiles.getEndpoint());
+        assertEquals(2, listFiles.getCalls());
+        assertEquals(340, listFiles.getTotalMillis());
+        assertEquals(300, listFiles.getMaxMillis());
+        assertEquals(170, listFiles.getAverageMillis());
+        assertEquals(1, listFiles.getRetries());
+        assertEquals(Long.valueOf(1), listFiles.getErrors().get("500"));
+        assertEquals(Long.valueOf(1), listFiles.getLatencyHistogram().get("<=50ms"));
+        assertEquals(Long.valueOf(1), listFiles.getLatencyHistogram().get("<=500ms"));
+    }
+
+    @Test
+    public void testCountSentBytes() throws IOException {
+        CrowdinMetrics metrics = new CrowdinMetrics();
+        try (InputStream in = metrics.countSent("addStorage", new ByteArrayInputStream(new byte[1000]))) {
+            in.read();
+            in.read(new byte[100]);
+            while (in.read(new byte[256]) != -1) {
+            }
+        }
+        assertEquals(1000, metrics.snapshot().get(0).getBytesSent());
+        assertEquals(0, metrics.snapshot().get(0).getBytesReceived());
+    }
+
+    @Test
+    public void testDownloadIsRecordedOnceTransferEnds() throws IOException {
+        CrowdinMetrics metrics = new CrowdinMetrics();
+        try (InputStream in = metrics.measureReceived("download", System.currentTimeMillis(), new ByteArrayInputStream(new byte[1000]))) {
+            in.read(new byte[100]);
+            assertEquals(0, metrics.snapshot().get(0).getCalls());
+            while (in.read(new byte[256]) != -1) {
+            }
+        }
+        assertEquals(1, metrics.snapshot().get(0).getCalls());
+        assertEquals(1000, metrics.snapshot().get(0).getBytesReceived());
+    }
+
+    @Test
+    public void testClosedDownloadIsRecorded() throws IOException {
+        CrowdinMetrics metrics = new CrowdinMetrics();
+        try (InputStream in = metrics.measureReceived("download", System.currentTimeMillis(), new ByteArrayInputStream(new byte[1000]))) {
+            in.read(new byte[100]);
+        }
+        assertEquals(1, metrics.snapshot().get(0).getCalls());
+        assertEquals(100, metrics.snapshot().get(0).getBytesReceived());
+        assertTrue(metrics.snapshot().get(0).getErrors().isEmpty());
+    }
+
+    @Test
+    public void testToJson() {
+        CrowdinMetrics metrics = new CrowdinMetrics();
+        metrics.recordCall("checkBuildStatus", 120, null);
+        String json = metrics.toJson();
+        assertTrue(json, json.contains("\"endpoint\" : \"checkBuildStatus\""));
+        assertTrue(json, json.contains("\"calls\" : 1"));
+    }
+}
@@ -0,0 +1,48 @@
+package com.crowdin.client;
+
+import com.crowdin.api.model.BranchBuilder;
+import com.crowdin.api.model.FileBuilder;
+import com.crowdin.client.projectsgroups.model.ProjectSettings;
+import com.crowdin.client.sourcefiles.model.Branch;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+final class CrowdinMocks {
+
+    private CrowdinMocks() {
+        throw new UnsupportedOperationException();
+    }
+
+    /**
+     * @return client of a project with manager access, a 'feature' branch and one file outside of branches
+     */
+    static Crowdin crowdin(Long projectId, String fileName) {
+        Crowdin crowdin = mock(Crowdin.class);
+        ProjectSettings project = new ProjectSettings();
+        project.setId(projectId);
+        project.setTargetLanguages(Collections.emptyList());
+        Map<String, Branch> branches = new HashMap<>();
+        branches.put("feature", BranchBuilder.standard().setProjectId(projectId).setIdentifiers("feature", 301L).build());
+        List<FileInfo> files = new ArrayList<>();
+        files.add(FileBuilder.standard().setProjectId(projectId).setIdentifiers(fileName, "xml", 101L, null, null).build());
+
+        when(crowdin.getProjectId()).thenReturn(projectId);
+        when(crowdin.getProject()).thenReturn(project);
+        when(crowdin.extractProjectLanguages(project)).thenReturn(Collections.emptyList());
+        when(crowdin.getStrings()).thenReturn(Collections.emptyList());
+        when(crowdin.getSupportedLanguages()).thenReturn(Collections.emptyList());
+        when(crowdin.getBranches()).thenReturn(branches);
+        when(crowdin.getDirectories(isNull())).thenReturn(Collections.emptyMap());
+        when(crowdin.getFiles(isNull())).thenReturn(files);
+        return crowdin;
+    }
+}
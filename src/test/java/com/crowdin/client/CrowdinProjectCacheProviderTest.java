@@ -0,0 +1,168 @@
+package com.crowdin.client;
+
+import com.crowdin.api.model.BranchBuilder;
+import com.crowdin.api.model.FileBuilder;
+import com.crowdin.client.sourcefiles.model.Branch;
+import com.crowdin.client.sourcefiles.model.FileInfo;
+import org.junit.jupiter.api.Test;
+import org.mockito.InOrder;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import static com.crowdin.client.CrowdinMocks.crowdin;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CrowdinProjectCacheProviderTest {
+
+    private static final String SEP = java.io.File.separator;
+
+    @Test
+    public void testCachedDataIsNotReloaded() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+
+        CrowdinProjectCacheProvider.CrowdinProjectCache first = provider.getCache(crowdin, null, null);
+        CrowdinProjectCacheProvider.CrowdinProjectCache second = provider.getCache(crowdin, null, null);
+        assertSame(first, second);
+        assertEquals(Collections.singleton(SEP + "strings.xml"), second.getFileInfos(null).keySet());
+        verify(crowdin, times(1)).getProject();
+        verify(crowdin, times(1)).getFiles(isNull());
+    }
+
+    @Test
+    public void testRefreshPublishesNewSnapshot() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        CrowdinProjectCacheProvider.CrowdinProjectCache before = provider.getCache(crowdin, null, null);
+
+        List<FileInfo> files = new ArrayList<>(crowdin.getFiles(null));
+        files.add(FileBuilder.standard().setProjectId(1L).setIdentifiers("plurals.xml", "xml", 102L, null, null).build());
+        when(crowdin.getFiles(isNull())).thenReturn(files);
+        provider.invalidateFiles(1L, null);
+        CrowdinProjectCacheProvider.CrowdinProjectCache after = provider.getCache(crowdin, null, null);
+
+        assertNotSame(before, after);
+        assertEquals(1, before.getFileInfos(null).size());
+        assertEquals(2, after.getFileInfos(null).size());
+    }
+
+    @Test
+    public void testOnlyDeclaredComponentsAreRevalidated() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        provider.getCache(crowdin, null, null);
+
+        provider.getCache(crowdin, null, null, CacheComponent.FILES);
+        verify(crowdin, times(2)).getFiles(isNull());
+        verify(crowdin, times(1)).getBranches();
+        verify(crowdin, times(1)).getStrings();
+
+        provider.invalidate(1L, CacheComponent.PROJECT);
+        provider.getCache(crowdin, null, null);
+        verify(crowdin, times(3)).getProject();
+        verify(crowdin, times(2)).getFiles(isNull());
+    }
+
+    @Test
+    public void testProjectIsReloadedBeforeRevalidatedListings() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        provider.getCache(crowdin, null, null);
+
+        provider.getCache(crowdin, null, null, CacheComponent.FILES);
+        InOrder inOrder = inOrder(crowdin);
+        inOrder.verify(crowdin, times(2)).getProject();
+        inOrder.verify(crowdin).getFiles(isNull());
+    }
+
+    @Test
+    public void testFilesOfRecreatedBranchAreReloaded() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        provider.getCache(crowdin, "feature", null);
+        verify(crowdin, times(1)).getFiles(eq(301L));
+
+        Map<String, Branch> branches = Collections.singletonMap("feature",
+            BranchBuilder.standard().setProjectId(1L).setIdentifiers("feature", 302L).build());
+        when(crowdin.getBranches()).thenReturn(branches);
+        provider.invalidate(1L, CacheComponent.BRANCHES);
+        provider.getCache(crowdin, "feature", null);
+        verify(crowdin, times(1)).getFiles(eq(302L));
+
+        provider.getCache(crowdin, "feature", null);
+        verify(crowdin, times(1)).getFiles(eq(302L));
+        provider.invalidateFiles(1L, "feature");
+        provider.getCache(crowdin, "feature", null);
+        verify(crowdin, times(2)).getFiles(eq(302L));
+        verify(crowdin, times(1)).getFiles(eq(301L));
+    }
+
+    @Test
+    public void testPeekDoesNotWaitForLoads() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        CrowdinProjectCacheProvider.CrowdinProjectCache cache = provider.getCache(crowdin, null, null);
+        assertSame(cache, provider.peek(crowdin, null));
+        verify(crowdin, times(1)).getProject();
+
+        provider.invalidate(1L, CacheComponent.PROJECT);
+        assertSame(cache, provider.peek(crowdin, null));
+        verify(crowdin, timeout(5000).times(2)).getProject();
+        verify(crowdin, times(1)).getFiles(isNull());
+    }
+
+    @Test
+    public void testSnapshotIsReadOnly() {
+        CrowdinProjectCacheProvider.CrowdinProjectCache cache = new CrowdinProjectCacheProvider().getCache(crowdin(1L, "strings.xml"), null, null);
+        try {
+            cache.getDirs(null).put(SEP + "values", null);
+            fail();
+        } catch (UnsupportedOperationException e) {
+            assertTrue(cache.getDirs(null).isEmpty());
+        }
+    }
+
+    @Test
+    public void testCrowdinProjectsAreCachedSeparately() {
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        CrowdinProjectCacheProvider.CrowdinProjectCache first = provider.getCache(crowdin(1L, "first.xml"), null, null);
+        CrowdinProjectCacheProvider.CrowdinProjectCache second = provider.getCache(crowdin(2L, "second.xml"), null, null);
+
+        assertEquals(Collections.singleton(SEP + "first.xml"), first.getFileInfos(null).keySet());
+        assertEquals(Collections.singleton(SEP + "second.xml"), second.getFileInfos(null).keySet());
+    }
+
+    @Test
+    public void testFailedBackgroundLoadIsRethrown() {
+        Crowdin crowdin = crowdin(1L, "strings.xml");
+        when(crowdin.getStrings()).thenThrow(new RuntimeException("strings failed"));
+        CrowdinProjectCacheProvider provider = new CrowdinProjectCacheProvider();
+        try {
+            provider.getCache(crowdin, null, null);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("strings failed", e.getMessage());
+        }
+
+        doReturn(Collections.emptyList()).when(crowdin).getStrings();
+        CrowdinProjectCacheProvider.CrowdinProjectCache cache = provider.getCache(crowdin, null, null);
+        assertTrue(cache.getStrings().isEmpty());
+        assertEquals(1, cache.getFileInfos(null).size());
+        verify(crowdin, times(1)).getProject();
+    }
+}
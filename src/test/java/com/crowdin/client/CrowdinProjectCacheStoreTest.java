@@ -0,0 +1,64 @@
+package com.crowdin.client;
+
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static com.crowdin.client.CrowdinMocks.crowdin;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class CrowdinProjectCacheStoreTest {
+
+    private Path dir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("cache");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    public void testSaveAndLoad() throws IOException {
+        CrowdinProjectCacheStore store = new CrowdinProjectCacheStore(dir);
+        CrowdinProjectCacheProvider.CrowdinProjectCache cache = new CrowdinProjectCacheProvider().getCache(crowdin(1L, "strings.xml"), null, null);
+        store.save(1L, cache);
+
+        CrowdinProjectCacheProvider.CrowdinProjectCache loaded = store.load(1L);
+        assertNotNull(loaded);
+        assertTrue(loaded.isManagerAccess());
+        assertEquals(cache.getProject().getId(), loaded.getProject().getId());
+        assertEquals(cache.getBranches().keySet(), loaded.getBranches().keySet());
+        assertEquals(cache.getFiles(null).keySet(), loaded.getFiles(null).keySet());
+        assertEquals(Long.valueOf(101L), loaded.getFiles(null).values().iterator().next().getId());
+        assertTrue(loaded.getStrings().isEmpty());
+        assertNull(store.load(2L));
+    }
+
+    @Test
+    public void testOtherVersionIsIgnored() throws IOException {
+        CrowdinProjectCacheStore store = new CrowdinProjectCacheStore(dir);
+        store.save(1L, new CrowdinProjectCacheProvider().getCache(crowdin(1L, "strings.xml"), null, null));
+        Path file = dir.resolve("1.cache");
+        try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file))) {
+            out.writeInt(CrowdinProjectCacheStore.MAGIC);
+            out.writeInt(CrowdinProjectCacheStore.VERSION + 1);
+        }
+
+        assertNull(store.load(1L));
+        assertFalse(Files.exists(file));
+    }
+}
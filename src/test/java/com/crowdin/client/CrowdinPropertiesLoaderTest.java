@@ -2,9 +2,20 @@ package com.crowdin.client;
 
 import org.junit.jupiter.api.Test;
 
+import java.util.Properties;
+
+import static com.crowdin.Constants.API_TOKEN;
+import static com.crowdin.Constants.MESSAGES_BUNDLE;
+import static com.crowdin.Constants.PROJECT_ID;
+import static com.crowdin.Constants.PROPERTY_EXTRACT_THREADS;
+import static com.crowdin.Constants.PROPERTY_FILE_BUILDS_THRESHOLD;
+import static com.crowdin.Constants.PROPERTY_LANGUAGES_PER_BUILD;
 import static com.crowdin.client.CrowdinPropertiesLoader.isBaseUrlValid;
+import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 public class CrowdinPropertiesLoaderTest {
 
@@ -19,4 +30,81 @@ public class CrowdinPropertiesLoaderTest {
         assertFalse(isBaseUrlValid("http://crowdin.com"));
         assertFalse(isBaseUrlValid("http://myorganization.crowdin.com"));
     }
+
+    @Test
+    public void testDownloadPropertiesDefaults() {
+        CrowdinProperties crowdinProperties = CrowdinPropertiesLoader.load(properties());
+        assertNull(crowdinProperties.getExtractThreads());
+        assertNull(crowdinProperties.getLanguagesPerBuild());
+        assertEquals(Integer.valueOf(0), crowdinProperties.getFileBuildsThreshold());
+    }
+
+    @Test
+    public void testDownloadPropertiesValues() {
+        Properties properties = properties();
+        properties.setProperty(PROPERTY_EXTRACT_THREADS, "4");
+        properties.setProperty(PROPERTY_LANGUAGES_PER_BUILD, " 10 ");
+        properties.setProperty(PROPERTY_FILE_BUILDS_THRESHOLD, "20");
+        CrowdinProperties crowdinProperties = CrowdinPropertiesLoader.load(properties);
+        assertEquals(Integer.valueOf(4), crowdinProperties.getExtractThreads());
+        assertEquals(Integer.valueOf(10), crowdinProperties.getLanguagesPerBuild());
+        assertEquals(Integer.valueOf(20), crowdinProperties.getFileBuildsThreshold());
+    }
+
+    @Test
+    public void testDownloadPropertiesMinimum() {
+        Properties properties = properties();
+        properties.setProperty(PROPERTY_EXTRACT_THREADS, "1");
+        properties.setProperty(PROPERTY_LANGUAGES_PER_BUILD, "1");
+        properties.setProperty(PROPERTY_FILE_BUILDS_THRESHOLD, "0");
+        CrowdinProperties crowdinProperties = CrowdinPropertiesLoader.load(properties);
+        assertEquals(Integer.valueOf(1), crowdinProperties.getExtractThreads());
+        assertEquals(Integer.valueOf(1), crowdinProperties.getLanguagesPerBuild());
+        assertEquals(Integer.valueOf(0), crowdinProperties.getFileBuildsThreshold());
+    }
+
+    @Test
+    public void testDownloadPropertiesNotNumbers() {
+        Properties properties = properties();
+        properties.setProperty(PROPERTY_EXTRACT_THREADS, "four");
+        properties.setProperty(PROPERTY_LANGUAGES_PER_BUILD, "1.5");
+        properties.setProperty(PROPERTY_FILE_BUILDS_THRESHOLD, "ten");
+        String message = loadErrors(properties);
+        assertTrue(message.contains(error("errors.config.property_is_not_number", PROPERTY_EXTRACT_THREADS)));
+        assertTrue(message.contains(error("errors.config.property_is_not_number", PROPERTY_LANGUAGES_PER_BUILD)));
+        assertTrue(message.contains(error("errors.config.property_is_not_number", PROPERTY_FILE_BUILDS_THRESHOLD)));
+    }
+
+    @Test
+    public void testDownloadPropertiesBelowMinimum() {
+        Properties properties = properties();
+        properties.setProperty(PROPERTY_EXTRACT_THREADS, "0");
+        properties.setProperty(PROPERTY_LANGUAGES_PER_BUILD, "-2");
+        properties.setProperty(PROPERTY_FILE_BUILDS_THRESHOLD, "-1");
+        String message = loadErrors(properties);
+        assertTrue(message.contains(error("errors.config.property_is_not_positive_number", PROPERTY_EXTRACT_THREADS)));
+        assertTrue(message.contains(error("errors.config.property_is_not_positive_number", PROPERTY_LANGUAGES_PER_BUILD)));
+        assertTrue(message.contains(error("errors.config.property_is_negative_number", PROPERTY_FILE_BUILDS_THRESHOLD)));
+    }
+
+    private static Properties properties() {
+        Properties properties = new Properties();
+        properties.setProperty(PROJECT_ID, "1");
+        properties.setProperty(API_TOKEN, "token");
+        return properties;
+    }
+
+    private static String loadErrors(Properties properties) {
+        try {
+            CrowdinPropertiesLoader.load(properties);
+            fail();
+            return null;
+        } catch (RuntimeException e) {
+            return e.getMessage();
+        }
+    }
+
+    private static String error(String messageKey, String property) {
+        return String.format(MESSAGES_BUNDLE.getString(messageKey), property);
+    }
 }
@@ -0,0 +1,131 @@
+package com.crowdin.client;
+
+import com.crowdin.api.model.BranchBuilder;
+import com.crowdin.client.core.http.exceptions.HttpException;
+import com.crowdin.client.core.model.ResponseList;
+import com.crowdin.client.core.model.ResponseObject;
+import com.crowdin.client.projectsgroups.ProjectsGroupsApi;
+import com.crowdin.client.projectsgroups.model.Project;
+import com.crowdin.client.sourcefiles.SourceFilesApi;
+import com.crowdin.client.sourcefiles.model.AddBranchRequest;
+import com.crowdin.client.sourcefiles.model.Branch;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+import java.util.Date;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class CrowdinTest {
+
+    private SourceFilesApi sourceFilesApi;
+    private Crowdin crowdin;
+
+    @BeforeEach
+    public void setup() {
+        Client client = mock(Client.class);
+        ProjectsGroupsApi projectsGroupsApi = mock(ProjectsGroupsApi.class);
+        sourceFilesApi = mock(SourceFilesApi.class);
+        when(client.getProjectsGroupsApi()).thenReturn(projectsGroupsApi);
+        when(client.getSourceFilesApi()).thenReturn(sourceFilesApi);
+
+        Project project = new Project();
+        project.setId(1L);
+        project.setLastActivity(new Date());
+        doReturn(responseObject(project)).when(projectsGroupsApi).getProject(1L);
+        doReturn(responseList(branch("main", 201L))).when(sourceFilesApi).listBranches(any(), any(), any(), any());
+
+        crowdin = new Crowdin(mock(com.intellij.openapi.project.Project.class), 1L, client, new CrowdinMetrics());
+        crowdin.getProject();
+    }
+
+    @Test
+    public void testListingLoadedDuringWriteIsNotReused() {
+        doAnswer(invocation -> {
+            crowdin.getBranches();
+            return responseObject(branch("feature", 202L));
+        }).when(sourceFilesApi).addBranch(any(), any());
+
+        crowdin.addBranch(new AddBranchRequest());
+        verify(sourceFilesApi, times(1)).listBranches(any(), any(), any(), any());
+
+        crowdin.getBranches();
+        verify(sourceFilesApi, times(2)).listBranches(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testListingLoadedDuringFailedWriteIsNotReused() {
+        doAnswer(invocation -> {
+            crowdin.getBranches();
+            throw new IllegalStateException("write failed");
+        }).when(sourceFilesApi).addBranch(any(), any());
+
+        try {
+            crowdin.addBranch(new AddBranchRequest());
+            fail();
+        } catch (IllegalStateException e) {
+            assertEquals("write failed", e.getMessage());
+        }
+
+        crowdin.getBranches();
+        verify(sourceFilesApi, times(2)).listBranches(any(), any(), any(), any());
+    }
+
+    @Test
+    public void testThrottledWriteIsNotRepeated() {
+        doThrow(throttled()).when(sourceFilesApi).addBranch(any(), any());
+
+        try {
+            crowdin.addBranch(new AddBranchRequest());
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getCause() instanceof HttpException);
+        }
+        verify(sourceFilesApi, times(1)).addBranch(any(), any());
+    }
+
+    @Test
+    public void testThrottledReadIsRepeated() {
+        doThrow(throttled()).doReturn(responseList(branch("main", 201L)))
+            .when(sourceFilesApi).listBranches(any(), any(), any(), any());
+
+        assertEquals(Collections.singleton("main"), crowdin.getBranches().keySet());
+        verify(sourceFilesApi, times(2)).listBranches(any(), any(), any(), any());
+    }
+
+    private static Branch branch(String name, Long id) {
+        return BranchBuilder.standard().setProjectId(1L).setIdentifiers(name, id).build();
+    }
+
+    private static <T> ResponseObject<T> responseObject(T data) {
+        ResponseObject<T> responseObject = new ResponseObject<>();
+        responseObject.setData(data);
+        return responseObject;
+    }
+
+    private static <T> ResponseList<T> responseList(T data) {
+        ResponseList<T> responseList = new ResponseList<>();
+        responseList.setData(Collections.singletonList(responseObject(data)));
+        return responseList;
+    }
+
+    private static HttpException throttled() {
+        HttpException.Error error = new HttpException.Error();
+        error.setCode("429");
+        error.setMessage("Too Many Requests");
+        HttpException exception = new HttpException();
+        exception.setError(error);
+        return exception;
+    }
+}
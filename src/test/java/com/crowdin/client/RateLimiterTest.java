@@ -0,0 +1,57 @@
+package com.crowdin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class RateLimiterTest {
+
+    private static final long SECOND = TimeUnit.SECONDS.toNanos(1);
+
+    @Test
+    public void testBurstThenRate() {
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(10, 1, 2, clock::get);
+
+        assertEquals(0, limiter.reserve());
+        assertEquals(0, limiter.reserve());
+        assertEquals(SECOND / 10, limiter.reserve());
+        assertEquals(2 * SECOND / 10, limiter.reserve());
+
+        clock.addAndGet(SECOND);
+        assertEquals(0, limiter.reserve());
+    }
+
+    @Test
+    public void testThrottleHalvesRateAndDoublesPause() {
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(10, 1, 5, clock::get);
+
+        limiter.onThrottle();
+        assertEquals(5.0, limiter.getRate(), 0.001);
+        assertTrue(limiter.reserve() >= SECOND);
+
+        limiter.onThrottle();
+        assertEquals(2.5, limiter.getRate(), 0.001);
+        assertTrue(limiter.reserve() >= 2 * SECOND);
+    }
+
+    @Test
+    public void testRateRecoversAfterSuccess() {
+        AtomicLong clock = new AtomicLong(0);
+        RateLimiter limiter = new RateLimiter(10, 1, 5, clock::get);
+
+        for (int i = 0; i < 10; i++) {
+            limiter.onThrottle();
+        }
+        assertEquals(1.0, limiter.getRate(), 0.001);
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess();
+        }
+        assertEquals(10.0, limiter.getRate(), 0.001);
+    }
+}
@@ -0,0 +1,78 @@
+package com.crowdin.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.fail;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testConcurrentCallsAreCoalesced() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            CompletableFuture<String> first = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                started.countDown();
+                await(release);
+                return "value";
+            }), executor);
+            started.await(5, TimeUnit.SECONDS);
+            CompletableFuture<String> second = CompletableFuture.supplyAsync(() -> singleFlight.execute("key", () -> {
+                calls.incrementAndGet();
+                return "other";
+            }), executor);
+            Thread.sleep(100);
+            release.countDown();
+            assertEquals("value", first.get(5, TimeUnit.SECONDS));
+            assertEquals("value", second.get(5, TimeUnit.SECONDS));
+            assertEquals(1, calls.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testSequentialCallsAreNotCoalesced() {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        singleFlight.execute("key", calls::incrementAndGet);
+        singleFlight.execute("key", calls::incrementAndGet);
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    public void testErrorIsSharedAndNotKept() {
+        SingleFlight singleFlight = new SingleFlight();
+        RuntimeException error = new RuntimeException("failed");
+        try {
+            singleFlight.execute("key", () -> {
+                throw error;
+            });
+            fail();
+        } catch (RuntimeException e) {
+            assertSame(error, e);
+        }
+        assertEquals("value", singleFlight.execute("key", () -> "value"));
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
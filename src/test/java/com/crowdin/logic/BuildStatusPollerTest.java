@@ -0,0 +1,80 @@
+package com.crowdin.logic;
+
+import com.crowdin.client.translations.model.ProjectBuild;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class BuildStatusPollerTest {
+
+    @Test
+    public void testBackoffWithoutProgress() {
+        BuildStatusPoller poller = new BuildStatusPoller(() -> 0L);
+        assertEquals(BuildStatusPoller.MIN_DELAY_MILLIS, poller.nextDelayMillis(0, 0));
+        assertEquals(BuildStatusPoller.MIN_DELAY_MILLIS * 2, poller.nextDelayMillis(0, 0));
+        assertEquals(BuildStatusPoller.MIN_DELAY_MILLIS * 4, poller.nextDelayMillis(0, 0));
+        for (int i = 0; i < 10; i++) {
+            poller.nextDelayMillis(0, 0);
+        }
+        assertEquals(BuildStatusPoller.MAX_DELAY_MILLIS, poller.nextDelayMillis(0, 0));
+    }
+
+    @Test
+    public void testEtaFromProgressRate() {
+        AtomicLong now = new AtomicLong(1_000);
+        BuildStatusPoller poller = new BuildStatusPoller(now::get);
+        assertEquals(-1, poller.etaMillis(0, 11_000));
+        assertEquals(30_000, poller.etaMillis(25, 11_000));
+        assertEquals(-1, poller.etaMillis(100, 11_000));
+    }
+
+    @Test
+    public void testDelayFollowsEta() {
+        BuildStatusPoller poller = new BuildStatusPoller(() -> 0L);
+        assertEquals(BuildStatusPoller.MIN_DELAY_MILLIS, poller.nextDelayMillis(90, 1_000));
+        assertEquals(5_000, poller.nextDelayMillis(50, 20_000));
+        assertEquals(BuildStatusPoller.MAX_DELAY_MILLIS, poller.nextDelayMillis(10, 60_000));
+    }
+
+    @Test
+    public void testAwaitAllHandsOverBuildsAsTheyFinish() {
+        Map<Long, AtomicInteger> checks = new HashMap<>();
+        Function<Long, ProjectBuild> checkStatus = buildId -> {
+            int check = checks.computeIfAbsent(buildId, id -> new AtomicInteger()).incrementAndGet();
+            return build(buildId, (check >= buildId) ? "finished" : "inProgress");
+        };
+        List<Long> finished = new ArrayList<>();
+        new BuildStatusPoller(() -> 0L).awaitAll(
+            Arrays.asList(build(2L, "inProgress"), build(1L, "inProgress"), build(3L, "finished")), checkStatus, build -> finished.add(build.getId()), null);
+        assertEquals(Arrays.asList(3L, 1L, 2L), finished);
+    }
+
+    @Test
+    public void testAwaitAllFailsOnFailedBuild() {
+        try {
+            new BuildStatusPoller(() -> 0L).awaitAll(
+                Arrays.asList(build(1L, "inProgress"), build(2L, "failed")), buildId -> build(buildId, "inProgress"), build -> { }, null);
+            fail();
+        } catch (RuntimeException e) {
+            assertTrue(e.getMessage(), e.getMessage().contains("#2"));
+        }
+    }
+
+    private static ProjectBuild build(Long id, String status) {
+        ProjectBuild build = new ProjectBuild();
+        build.setId(id);
+        build.setStatus(status);
+        return build;
+    }
+}
@@ -0,0 +1,33 @@
+package com.crowdin.logic;
+
+import org.junit.jupiter.api.Test;
+
+import static com.crowdin.logic.DownloadTranslationsLogic.BuildKind.FILES;
+import static com.crowdin.logic.DownloadTranslationsLogic.BuildKind.LANGUAGE_GROUPS;
+import static com.crowdin.logic.DownloadTranslationsLogic.BuildKind.PROJECT;
+import static com.crowdin.logic.DownloadTranslationsLogic.buildKind;
+import static org.junit.Assert.assertEquals;
+
+public class DownloadTranslationsLogicTest {
+
+    @Test
+    public void testFileBuildsAreOffByDefault() {
+        assertEquals(PROJECT, buildKind(null, 1, 1));
+        assertEquals(PROJECT, buildKind(0, 1, 1));
+        assertEquals(LANGUAGE_GROUPS, buildKind(null, 1, 2));
+    }
+
+    @Test
+    public void testFileBuildsUpToThreshold() {
+        assertEquals(FILES, buildKind(10, 1, 1));
+        assertEquals(FILES, buildKind(10, 10, 3));
+        assertEquals(PROJECT, buildKind(10, 11, 1));
+        assertEquals(LANGUAGE_GROUPS, buildKind(10, 11, 3));
+    }
+
+    @Test
+    public void testNoTranslationFilesBuildsProject() {
+        assertEquals(PROJECT, buildKind(10, 0, 1));
+        assertEquals(LANGUAGE_GROUPS, buildKind(10, 0, 2));
+    }
+}
@@ -0,0 +1,85 @@
+package com.crowdin.logic;
+
+import com.crowdin.util.FileUtil;
+import org.apache.commons.io.FileUtils;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+public class TranslationArchiveCacheTest {
+
+    private Path dir;
+
+    @BeforeEach
+    public void setup() throws IOException {
+        dir = Files.createTempDirectory("archives");
+    }
+
+    @AfterEach
+    public void teardown() throws IOException {
+        FileUtils.deleteDirectory(dir.toFile());
+    }
+
+    @Test
+    public void testPutAndGet() throws IOException {
+        TranslationArchiveCache cache = new TranslationArchiveCache(dir, 1_000);
+        byte[] content = new byte[100];
+        String sha256 = put(cache, 1L, null, 10, content);
+
+        TranslationArchiveCache.CachedArchive cached = cache.get(1L, null, 10);
+        assertNotNull(cached);
+        assertEquals(sha256, cached.getSha256());
+        assertArrayEquals(content, Files.readAllBytes(cached.getFile().toPath()));
+        assertNull(cache.get(1L, 2L, 10));
+        assertNull(cache.get(2L, null, 10));
+        assertNull(cache.get(1L, null, 11));
+    }
+
+    @Test
+    public void testCorruptedArchiveIsDropped() throws IOException {
+        TranslationArchiveCache cache = new TranslationArchiveCache(dir, 1_000);
+        put(cache, 1L, 2L, 10, new byte[100]);
+        File archive = cache.get(1L, 2L, 10).getFile();
+        Files.write(archive.toPath(), new byte[99]);
+
+        assertNull(cache.get(1L, 2L, 10));
+        assertEquals(0, dir.toFile().list().length);
+    }
+
+    @Test
+    public void testLeastRecentlyUsedArchivesAreEvicted() throws IOException {
+        TranslationArchiveCache cache = new TranslationArchiveCache(dir, 250);
+        put(cache, 1L, null, 1, new byte[100]);
+        put(cache, 1L, null, 2, new byte[100]);
+        age(cache.get(1L, null, 2).getFile(), 2_000);
+        age(cache.get(1L, null, 1).getFile(), 1_000);
+
+        put(cache, 1L, null, 3, new byte[100]);
+        assertNotNull(cache.get(1L, null, 1));
+        assertNull(cache.get(1L, null, 2));
+        assertNotNull(cache.get(1L, null, 3));
+    }
+
+    private static String put(TranslationArchiveCache cache, Long projectId, Long branchId, long buildId, byte[] content) throws IOException {
+        File archive = cache.createTempFile();
+        Files.write(archive.toPath(), content);
+        String sha256 = FileUtil.sha256(archive);
+        cache.put(projectId, branchId, buildId, archive, sha256);
+        return sha256;
+    }
+
+    private static void age(File file, long millis) throws IOException {
+        Files.setLastModifiedTime(file.toPath(), FileTime.fromMillis(System.currentTimeMillis() - millis));
+    }
+}
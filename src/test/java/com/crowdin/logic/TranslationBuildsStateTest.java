@@ -0,0 +1,64 @@
+package com.crowdin.logic;
+
+import org.jdom.Element;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+public class TranslationBuildsStateTest {
+
+    @Test
+    public void testChangedLanguages() {
+        Map<String, String> previous = new HashMap<>();
+        previous.put("de", "50/10");
+        previous.put("fr", "20/0");
+        previous.put("uk", "100/100");
+        TranslationBuildsState.BuildRecord record = new TranslationBuildsState.BuildRecord(1, 1, null, true, previous);
+
+        Map<String, String> current = new HashMap<>(previous);
+        assertEquals(Collections.emptyList(), record.changedLanguages(current));
+
+        current.put("fr", "25/0");
+        current.put("es", "0/0");
+        assertEquals(Arrays.asList("es", "fr"), record.changedLanguages(current));
+    }
+
+    @Test
+    public void testStateRoundTrip() {
+        Map<String, String> progress = new TreeMap<>();
+        progress.put("de", "50/10");
+        progress.put("fr", "20/0");
+        TranslationBuildsState state = new TranslationBuildsState();
+        state.put("1:", new TranslationBuildsState.BuildRecord(10, 100, "abc", false, progress));
+        state.put("1:2", new TranslationBuildsState.BuildRecord(11, 101, null, true, Collections.emptyMap()));
+
+        TranslationBuildsState loaded = new TranslationBuildsState();
+        loaded.loadState(state.getState());
+        assertEquals(state.get("1:"), loaded.get("1:"));
+        assertEquals(state.get("1:2"), loaded.get("1:2"));
+        assertNull(loaded.get("2:"));
+    }
+
+    @Test
+    public void testRecordsWithoutLanguagesAreFullBuilds() {
+        Element build = new Element("build");
+        build.setAttribute("key", "1:");
+        build.setAttribute("buildId", "10");
+        build.setAttribute("lastActivity", "100");
+        TranslationBuildsState state = new TranslationBuildsState();
+        state.loadState(new Element("CrowdinTranslationBuilds").addContent(build));
+
+        TranslationBuildsState.BuildRecord record = state.get("1:");
+        assertTrue(record.isAllLanguages());
+        assertTrue(record.getLanguageProgress().isEmpty());
+        assertNull(record.getArchiveSha256());
+    }
+}
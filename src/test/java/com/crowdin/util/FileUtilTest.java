@@ -1,6 +1,7 @@
 package com.crowdin.util;
 
 import com.intellij.openapi.project.Project;
+import com.intellij.openapi.vfs.LocalFileSystem;
 import com.intellij.openapi.vfs.VirtualFile;
 import com.intellij.openapi.vfs.VirtualFileSystem;
 import com.intellij.openapi.vfs.newvfs.NewVirtualFileSystem;
@@ -8,6 +9,7 @@ import com.intellij.psi.PsiFile;
 import com.intellij.testFramework.fixtures.BasePlatformTestCase;
 import org.junit.Before;
 import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Assumptions;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -15,9 +17,17 @@ import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Set;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -82,4 +92,101 @@ public class FileUtilTest extends BasePlatformTestCase {
                 Arrays.asList(root + "values/strings.xml"))
         );
     }
+
+    @Test
+    public void testWriteIfChangedSkipsSameContent() throws IOException {
+        File target = File.createTempFile("translation", ".xml");
+        try {
+            byte[] content = content(200_000, (byte) 0);
+            Files.write(target.toPath(), content);
+            assertFalse(FileUtil.writeIfChanged(new ByteArrayInputStream(content), content.length, target));
+            assertFalse(FileUtil.writeIfChanged(new ByteArrayInputStream(content), -1, target));
+            assertTrue(Arrays.equals(content, Files.readAllBytes(target.toPath())));
+        } finally {
+            target.delete();
+        }
+    }
+
+    @Test
+    public void testWriteIfChangedRewritesChangedContent() throws IOException {
+        File target = File.createTempFile("translation", ".xml");
+        try {
+            Files.write(target.toPath(), content(200_000, (byte) 0));
+            byte[] changed = content(200_000, (byte) 0);
+            changed[150_000] = 1;
+            assertTrue(FileUtil.writeIfChanged(new ByteArrayInputStream(changed), -1, target));
+            assertTrue(Arrays.equals(changed, Files.readAllBytes(target.toPath())));
+
+            byte[] shorter = Arrays.copyOf(changed, 100_000);
+            assertTrue(FileUtil.writeIfChanged(new ByteArrayInputStream(shorter), -1, target));
+            assertTrue(Arrays.equals(shorter, Files.readAllBytes(target.toPath())));
+        } finally {
+            target.delete();
+        }
+    }
+
+    @Test
+    public void testWriteIfChangedCreatesFile() throws IOException {
+        File dir = Files.createTempDirectory("translations").toFile();
+        File target = new File(dir, "values-de" + File.separator + "strings.xml");
+        try {
+            byte[] content = content(10, (byte) 5);
+            assertTrue(FileUtil.writeIfChanged(new ByteArrayInputStream(content), content.length, target));
+            assertTrue(Arrays.equals(content, Files.readAllBytes(target.toPath())));
+        } finally {
+            target.delete();
+            target.getParentFile().delete();
+            dir.delete();
+        }
+    }
+
+    @Test
+    public void testWriteIfChangedKeepsPermissions() throws IOException {
+        File target = File.createTempFile("translation", ".xml");
+        try {
+            Assumptions.assumeTrue(Files.getFileAttributeView(target.toPath(), PosixFileAttributeView.class) != null);
+            Files.write(target.toPath(), content(100, (byte) 0));
+            Set<PosixFilePermission> permissions = PosixFilePermissions.fromString("rw-r--r--");
+            Files.setPosixFilePermissions(target.toPath(), permissions);
+
+            assertTrue(FileUtil.writeIfChanged(new ByteArrayInputStream(content(100, (byte) 1)), -1, target));
+            assertEquals(permissions, Files.getPosixFilePermissions(target.toPath()));
+            assertTrue(FileUtil.writeIfChanged(new ByteArrayInputStream(content(50, (byte) 1)), 50, target));
+            assertEquals(permissions, Files.getPosixFilePermissions(target.toPath()));
+        } finally {
+            target.delete();
+        }
+    }
+
+    @Test
+    public void testDownloadFileReplacesUnmodifiedLocalFile() throws IOException {
+        File target = File.createTempFile("source", ".xml");
+        try {
+            Files.write(target.toPath(), content(100, (byte) 0));
+            VirtualFile file = LocalFileSystem.getInstance().refreshAndFindFileByIoFile(target);
+            byte[] downloaded = content(50, (byte) 1);
+            FileUtil.downloadFile(this, file, new ByteArrayInputStream(downloaded));
+            assertTrue(Arrays.equals(downloaded, Files.readAllBytes(target.toPath())));
+            assertTrue(Arrays.equals(downloaded, file.contentsToByteArray()));
+        } finally {
+            target.delete();
+        }
+    }
+
+    @Test
+    public void testDownloadFileWritesThroughVfs() throws IOException {
+        VirtualFile file = myFixture.addFileToProject("values/strings.xml", "<resources/>").getVirtualFile();
+        assertFalse(file.isInLocalFileSystem());
+        byte[] downloaded = content(50, (byte) 1);
+        FileUtil.downloadFile(this, file, new ByteArrayInputStream(downloaded));
+        assertTrue(Arrays.equals(downloaded, file.contentsToByteArray()));
+    }
+
+    private static byte[] content(int size, byte seed) {
+        byte[] content = new byte[size];
+        for (int i = 0; i < size; i++) {
+            content[i] = (byte) (seed + i % 127);
+        }
+        return content;
+    }
 }
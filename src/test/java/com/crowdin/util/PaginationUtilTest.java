@@ -0,0 +1,101 @@
+package com.crowdin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+public class PaginationUtilTest {
+
+    @Test
+    public void testStreamKeepsOrder() {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Integer> result = PaginationUtil.stream(pages(23), 5, 3, executor).collect(Collectors.toList());
+            assertEquals(range(23), result);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void testStreamSinglePage() {
+        AtomicInteger requests = new AtomicInteger();
+        BiFunction<Integer, Integer, List<Integer>> request = (limit, offset) -> {
+            requests.incrementAndGet();
+            return pages(3).apply(limit, offset);
+        };
+        List<Integer> result = PaginationUtil.stream(request, 5, 3, Runnable::run).collect(Collectors.toList());
+        assertEquals(range(3), result);
+        assertEquals(1, requests.get());
+    }
+
+    @Test
+    public void testStreamStopsAtShortPage() {
+        List<Integer> requestedOffsets = Collections.synchronizedList(new ArrayList<>());
+        BiFunction<Integer, Integer, List<Integer>> request = (limit, offset) -> {
+            requestedOffsets.add(offset);
+            return pages(10).apply(limit, offset);
+        };
+        List<Integer> result = PaginationUtil.stream(request, 5, 2, Runnable::run).collect(Collectors.toList());
+        assertEquals(range(10), result);
+        assertTrue("Offsets: " + requestedOffsets, requestedOffsets.size() <= 4);
+    }
+
+    @Test
+    public void testStreamExactMultipleOfLimit() {
+        List<Integer> result = PaginationUtil.stream(pages(15), 5, 1, Runnable::run).collect(Collectors.toList());
+        assertEquals(range(15), result);
+    }
+
+    @Test
+    public void testStreamIsLazy() {
+        AtomicInteger requests = new AtomicInteger();
+        BiFunction<Integer, Integer, List<Integer>> request = (limit, offset) -> {
+            requests.incrementAndGet();
+            return pages(100).apply(limit, offset);
+        };
+        List<Integer> result = PaginationUtil.stream(request, 5, 1, Runnable::run)
+            .limit(7)
+            .collect(Collectors.toList());
+        assertEquals(range(7), result);
+        assertTrue("Requests: " + requests.get(), requests.get() <= 3);
+    }
+
+    @Test
+    public void testClosedStreamSkipsPendingPages() {
+        AtomicInteger requests = new AtomicInteger();
+        BiFunction<Integer, Integer, List<Integer>> request = (limit, offset) -> {
+            requests.incrementAndGet();
+            return pages(100).apply(limit, offset);
+        };
+        List<Runnable> pending = new ArrayList<>();
+        try (Stream<Integer> stream = PaginationUtil.stream(request, 5, 3, pending::add)) {
+            assertEquals(range(3), stream.limit(3).collect(Collectors.toList()));
+        }
+        assertEquals(3, pending.size());
+        pending.forEach(Runnable::run);
+        assertEquals(1, requests.get());
+    }
+
+    private static BiFunction<Integer, Integer, List<Integer>> pages(int total) {
+        return (limit, offset) -> IntStream.range(offset, Math.min(offset + limit, total))
+            .boxed()
+            .collect(Collectors.toList());
+    }
+
+    private static List<Integer> range(int total) {
+        return IntStream.range(0, total).boxed().collect(Collectors.toList());
+    }
+}
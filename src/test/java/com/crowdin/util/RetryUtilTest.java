@@ -0,0 +1,68 @@
+package com.crowdin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+public class RetryUtilTest {
+
+    @Test
+    public void testRetriesUntilSuccess() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, e -> true);
+        String result = RetryUtil.retry(() -> {
+            if (attempts.incrementAndGet() < 3) {
+                throw new RuntimeException("fail");
+            }
+            return "ok";
+        }, policy);
+        assertEquals("ok", result);
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testStopsAfterMaxAttempts() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, e -> true);
+        try {
+            RetryUtil.retry(() -> {
+                attempts.incrementAndGet();
+                throw new RuntimeException("fail");
+            }, policy);
+            fail();
+        } catch (RuntimeException e) {
+            assertEquals("fail", e.getMessage());
+        }
+        assertEquals(3, attempts.get());
+    }
+
+    @Test
+    public void testDoesNotRetryUnexpectedErrors() {
+        AtomicInteger attempts = new AtomicInteger();
+        RetryPolicy policy = new RetryPolicy(3, 0, 0, e -> e instanceof IllegalStateException);
+        try {
+            RetryUtil.retry(() -> {
+                attempts.incrementAndGet();
+                throw new IllegalArgumentException("fail");
+            }, policy);
+            fail();
+        } catch (IllegalArgumentException e) {
+            assertEquals(1, attempts.get());
+        }
+    }
+
+    @Test
+    public void testExponentialDelay() {
+        RetryPolicy policy = new RetryPolicy(10, 100, 1000, e -> true);
+        assertEquals(100, policy.delayMillis(1, 1.0));
+        assertEquals(200, policy.delayMillis(2, 1.0));
+        assertEquals(400, policy.delayMillis(3, 1.0));
+        assertEquals(1000, policy.delayMillis(5, 1.0));
+        assertEquals(500, policy.delayMillis(5, 0.5));
+        assertTrue(policy.delayMillis(3) <= 400);
+    }
+}
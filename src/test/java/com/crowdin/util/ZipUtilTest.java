@@ -0,0 +1,96 @@
+package com.crowdin.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import static org.junit.Assert.assertEquals;
+
+public class ZipUtilTest {
+
+    @Test
+    public void testEntryKey() {
+        assertEquals("values-de/strings.xml", ZipUtil.entryKey("/values-de/strings.xml"));
+        assertEquals("app/values-de/strings.xml", ZipUtil.entryKey("\\app\\values-de\\strings.xml"));
+    }
+
+    @Test
+    public void testExtractSelected() throws IOException {
+        byte[] archive = zip("values-de/", null, "values-de/strings.xml", "de", "values-fr/strings.xml", "fr", "values-uk/strings.xml", "uk");
+        Map<String, File> targets = new HashMap<>();
+        targets.put("values-de/strings.xml", new File("de.xml"));
+        targets.put("values-uk/strings.xml", new File("uk.xml"));
+        targets.put("values-es/strings.xml", new File("es.xml"));
+
+        Map<File, String> written = new HashMap<>();
+        List<String> entries = ZipUtil.extractSelected(new ByteArrayInputStream(archive), targets,
+            (content, size, target) -> written.put(target, new String(readAll(content), StandardCharsets.UTF_8)));
+
+        assertEquals(Arrays.asList("values-de/strings.xml", "values-fr/strings.xml", "values-uk/strings.xml"), entries);
+        assertEquals(2, written.size());
+        assertEquals("de", written.get(new File("de.xml")));
+        assertEquals("uk", written.get(new File("uk.xml")));
+    }
+
+    @Test
+    public void testExtractSelectedFromFileInParallel() throws IOException {
+        File archive = File.createTempFile("archive", ".zip");
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        try {
+            Files.write(archive.toPath(), zip("values-de/strings.xml", "de", "values-fr/strings.xml", "fr", "values-uk/strings.xml", "uk"));
+            Map<String, File> targets = new HashMap<>();
+            targets.put("values-de/strings.xml", new File("de.xml"));
+            targets.put("values-uk/strings.xml", new File("uk.xml"));
+
+            Map<File, String> written = new ConcurrentHashMap<>();
+            List<String> entries = ZipUtil.extractSelected(archive, targets,
+                (content, size, target) -> written.put(target, new String(readAll(content), StandardCharsets.UTF_8)), executor);
+
+            assertEquals(Arrays.asList("values-de/strings.xml", "values-fr/strings.xml", "values-uk/strings.xml"), entries);
+            assertEquals(2, written.size());
+            assertEquals("de", written.get(new File("de.xml")));
+            assertEquals("uk", written.get(new File("uk.xml")));
+        } finally {
+            executor.shutdownNow();
+            archive.delete();
+        }
+    }
+
+    private static byte[] readAll(InputStream content) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[16];
+        for (int read = content.read(buffer); read != -1; read = content.read(buffer)) {
+            out.write(buffer, 0, read);
+        }
+        return out.toByteArray();
+    }
+
+    private static byte[] zip(String... namesAndContents) throws IOException {
+        ByteArrayOutputStream result = new ByteArrayOutputStream();
+        try (ZipOutputStream zip = new ZipOutputStream(result)) {
+            for (int i = 0; i < namesAndContents.length; i += 2) {
+                zip.putNextEntry(new ZipEntry(namesAndContents[i]));
+                if (namesAndContents[i + 1] != null) {
+                    zip.write(namesAndContents[i + 1].getBytes(StandardCharsets.UTF_8));
+                }
+                zip.closeEntry();
+            }
+        }
+        return result.toByteArray();
+    }
+}